@@ -0,0 +1,89 @@
+package com.github.mdennis10.jdbc_helper.benchmarks;
+
+import com.github.mdennis10.jdbc_helper.DatabaseHelper;
+import com.github.mdennis10.jdbc_helper.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch inserts at several batch sizes, multi-row VALUES inserts, plus the
+ * same rows inserted one statement at a time inside a transaction.
+ * @author Mario Dennis
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private DatabaseHelper databaseHelper;
+    private List<Object[]> rows;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        databaseHelper = BenchmarkDatabase.create(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        databaseHelper.executeUpdate("TRUNCATE TABLE BenchPerson", null);
+        nextId = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DatabaseHelper.close();
+    }
+
+    private List<Object[]> nextRows() {
+        rows = BenchmarkDatabase.rows(nextId, batchSize);
+        nextId += batchSize;
+        return rows;
+    }
+
+    @Benchmark
+    public int[] executeBatchUpdate() {
+        return databaseHelper.executeBatchUpdate(BenchmarkDatabase.INSERT_SQL, nextRows());
+    }
+
+    @Benchmark
+    public long executeBatchUpdateChunked() {
+        return databaseHelper.executeBatchUpdate(BenchmarkDatabase.INSERT_SQL, nextRows().iterator(), 100, false);
+    }
+
+    @Benchmark
+    public long executeBatchInsert() {
+        return databaseHelper.executeBatchInsert(BenchmarkDatabase.INSERT_SQL, nextRows(), 100);
+    }
+
+    @Benchmark
+    public int transactionLoop() {
+        int rowsAffected = 0;
+        Transaction transaction = databaseHelper.getTransaction();
+        for(Object[] row : nextRows()) {
+            rowsAffected += transaction.executeUpdate(BenchmarkDatabase.INSERT_SQL, row);
+        }
+        transaction.commit();
+        return rowsAffected;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.mdennis10.jdbc_helper.benchmarks;
+
+import com.github.mdennis10.jdbc_helper.DatabaseHelper;
+import com.github.mdennis10.jdbc_helper.DbConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory H2 database shared by the benchmarks.
+ * @author Mario Dennis
+ */
+final class BenchmarkDatabase {
+    static final DbConfig CONFIG = new DbConfig(
+            "sa",
+            "",
+            "jdbc:h2:mem:jdbc_helper_bench;DB_CLOSE_DELAY=-1",
+            "org.h2.Driver"
+    );
+    static final String INSERT_SQL = "INSERT INTO BenchPerson(id, name, age, active) VALUES(?,?,?,?)";
+
+    private BenchmarkDatabase() {}
+
+    static DatabaseHelper create(int rowCount) {
+        DatabaseHelper databaseHelper = new DatabaseHelper(CONFIG);
+        databaseHelper.executeUpdate("DROP TABLE IF EXISTS BenchPerson", null);
+        databaseHelper.executeUpdate(
+            "CREATE TABLE BenchPerson(id int PRIMARY KEY, name varchar(50), age int, active boolean)",
+            null
+        );
+        if(rowCount > 0) {
+            databaseHelper.executeBatchUpdate(INSERT_SQL, rows(0, rowCount));
+        }
+        return databaseHelper;
+    }
+
+    static List<Object[]> rows(int firstId, int rowCount) {
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for(int x = firstId; x < firstId + rowCount; x++) {
+            rows.add(new Object[]{x, "Person " + x, x % 90, x % 2 == 0});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.mdennis10.jdbc_helper.benchmarks;
+
+import com.github.mdennis10.jdbc_helper.ColumnMapper;
+import com.github.mdennis10.jdbc_helper.DatabaseHelper;
+import com.github.mdennis10.jdbc_helper.RowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single row and list queries through each of the mapping paths.
+ * @author Mario Dennis
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+    private static final String SELECT_ALL = "SELECT id, name, age, active FROM BenchPerson";
+    private static final String SELECT_BY_ID = SELECT_ALL + " WHERE id=?";
+    private static final ColumnMapper<BenchPerson> COLUMN_MAPPER = row -> new BenchPerson(
+        (Integer) row.get("ID"),
+        (String) row.get("NAME"),
+        (Integer) row.get("AGE"),
+        (Boolean) row.get("ACTIVE")
+    );
+    private static final RowMapper<BenchPerson> ROW_MAPPER = row -> new BenchPerson(
+        row.getInt(1),
+        row.getString(2),
+        row.getInt(3),
+        row.getBoolean(4)
+    );
+
+    @Param({"100", "10000"})
+    public int rowCount;
+
+    private DatabaseHelper databaseHelper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        databaseHelper = BenchmarkDatabase.create(rowCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DatabaseHelper.close();
+    }
+
+    @Benchmark
+    public Optional<BenchPerson> querySingleRowWithClass() {
+        return databaseHelper.query(BenchPerson.class, SELECT_BY_ID, new Object[]{rowCount / 2});
+    }
+
+    @Benchmark
+    public Optional<BenchPerson> querySingleRowWithColumnMapper() {
+        return databaseHelper.query(SELECT_BY_ID, new Object[]{rowCount / 2}, COLUMN_MAPPER);
+    }
+
+    @Benchmark
+    public List<BenchPerson> queryForListWithClass() {
+        return databaseHelper.queryForList(BenchPerson.class, SELECT_ALL, new Object[]{});
+    }
+
+    @Benchmark
+    public List<BenchPerson> queryForListWithColumnMapper() {
+        return databaseHelper.queryForList(SELECT_ALL, new Object[]{}, COLUMN_MAPPER);
+    }
+
+    @Benchmark
+    public List<BenchPerson> queryRowsWithRowMapper() {
+        return databaseHelper.queryRows(SELECT_ALL, new Object[]{}, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.mdennis10.jdbc_helper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Entity>_RowMapper} for every class annotated with
+ * {@code com.github.mdennis10.jdbc_helper.GenerateRowMapper}. The generated mapper
+ * creates the entity with its no-arg constructor and assigns each column through
+ * the field's setter, or directly when the field is not private, reading values
+ * by column index instead of by name.
+ * @author Mario Dennis
+ */
+@SupportedAnnotationTypes(RowMapperProcessor.ANNOTATION_NAME)
+public class RowMapperProcessor extends AbstractProcessor {
+    static final String ANNOTATION_NAME = "com.github.mdennis10.jdbc_helper.GenerateRowMapper";
+    static final String MAPPER_SUFFIX = "_RowMapper";
+    private static final String ROW_MAPPER = "com.github.mdennis10.jdbc_helper.RowMapper";
+    private static final String RESULT_ROW = "com.github.mdennis10.jdbc_helper.ResultRow";
+    private static final Map<String, String> GETTERS = new HashMap<>();
+
+    static {
+        GETTERS.put("boolean", "row.getBoolean(%s)");
+        GETTERS.put("int", "row.getInt(%s)");
+        GETTERS.put("long", "row.getLong(%s)");
+        GETTERS.put("double", "row.getDouble(%s)");
+        GETTERS.put("float", "(float) row.getDouble(%s)");
+        GETTERS.put("short", "(short) row.getInt(%s)");
+        GETTERS.put("byte", "(byte) row.getInt(%s)");
+        GETTERS.put("java.lang.String", "row.getString(%s)");
+        GETTERS.put("java.math.BigDecimal", "row.getBigDecimal(%s)");
+        GETTERS.put("java.sql.Date", "row.getDate(%s)");
+        GETTERS.put("java.sql.Timestamp", "row.getTimestamp(%s)");
+        GETTERS.put("byte[]", "row.getBytes(%s)");
+    }
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for(TypeElement annotation : annotations) {
+            for(Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if(element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateRowMapper can only be applied to classes");
+                    continue;
+                }
+                generateMapper((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generateMapper(TypeElement entity) {
+        if(!isInstantiable(entity)) {
+            return;
+        }
+        List<FieldMapping> mappings = new ArrayList<>();
+        for(VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            if(field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            FieldMapping mapping = createMapping(entity, field);
+            if(mapping == null) {
+                return;
+            }
+            mappings.add(mapping);
+        }
+
+        String packageName = elements.getPackageOf(entity).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(entity).toString();
+        String mapperName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + MAPPER_SUFFIX;
+        String entityName = entity.getQualifiedName().toString();
+        String source = writeSource(packageName, mapperName, entityName, mappings);
+        String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedMapperName, entity);
+            try(Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            error(entity, "Unable to write " + qualifiedMapperName + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isInstantiable(TypeElement entity) {
+        if(entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(entity, "@GenerateRowMapper class must not be abstract");
+            return false;
+        }
+        if(entity.getModifiers().contains(Modifier.PRIVATE)) {
+            error(entity, "@GenerateRowMapper class must not be private");
+            return false;
+        }
+        if(entity.getNestingKind() != NestingKind.TOP_LEVEL && !entity.getModifiers().contains(Modifier.STATIC)) {
+            error(entity, "@GenerateRowMapper nested class must be static");
+            return false;
+        }
+        for(ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if(constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(entity, "@GenerateRowMapper class must have a non-private no-arg constructor");
+        return false;
+    }
+
+    private FieldMapping createMapping(TypeElement entity, VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        TypeMirror fieldType = field.asType();
+        String getter = getterFor(fieldType);
+        if(getter == null) {
+            error(field, "Unsupported field type " + fieldType + " for @GenerateRowMapper");
+            return null;
+        }
+        String setter = findSetter(entity, field);
+        if(setter != null) {
+            return new FieldMapping(fieldName.toUpperCase(Locale.ROOT), "entity." + setter + "(%s)", getter);
+        }
+        if(!field.getModifiers().contains(Modifier.PRIVATE) && !field.getModifiers().contains(Modifier.FINAL)) {
+            return new FieldMapping(fieldName.toUpperCase(Locale.ROOT), "entity." + fieldName + " = %s", getter);
+        }
+        error(field, "No accessible setter or field for " + fieldName);
+        return null;
+    }
+
+    private String getterFor(TypeMirror type) {
+        String getter = GETTERS.get(type.toString());
+        if(getter != null) {
+            return getter;
+        }
+        if(type.getKind() != TypeKind.DECLARED || !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return null;
+        }
+        String typeName = ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+        return "row.getObject(%s, " + typeName + ".class)";
+    }
+
+    private String findSetter(TypeElement entity, VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        List<String> candidates = new ArrayList<>();
+        candidates.add("set" + capitalize(fieldName));
+        boolean isBooleanField = field.asType().getKind() == TypeKind.BOOLEAN;
+        if(isBooleanField && fieldName.length() > 2 && fieldName.startsWith("is") && Character.isUpperCase(fieldName.charAt(2))) {
+            candidates.add("set" + fieldName.substring(2));
+        }
+        for(String candidate : candidates) {
+            for(ExecutableElement method : ElementFilter.methodsIn(entity.getEnclosedElements())) {
+                if(method.getSimpleName().contentEquals(candidate)
+                        && method.getParameters().size() == 1
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String writeSource(String packageName, String mapperName, String entityName, List<FieldMapping> mappings) {
+        StringBuilder source = new StringBuilder();
+        if(!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("// Generated by jdbc-helper-processor from ").append(entityName).append(". Do not edit.\n");
+        source.append("public final class ").append(mapperName)
+                .append(" implements ").append(ROW_MAPPER).append("<").append(entityName).append("> {\n");
+        source.append("    private static final String[] COLUMNS = {");
+        for(int x = 0; x < mappings.size(); x++) {
+            source.append(x == 0 ? "" : ", ").append('"').append(mappings.get(x).column).append('"');
+        }
+        source.append("};\n\n");
+        source.append("    @Override\n");
+        source.append("    public ").append(entityName).append(" map(").append(RESULT_ROW).append(" row) {\n");
+        source.append("        int[] columns = row.resolveColumns(COLUMNS);\n");
+        source.append("        ").append(entityName).append(" entity = new ").append(entityName).append("();\n");
+        for(int x = 0; x < mappings.size(); x++) {
+            FieldMapping mapping = mappings.get(x);
+            String index = "columns[" + x + "]";
+            source.append("        if(").append(index).append(" != 0) {\n");
+            source.append("            ").append(String.format(mapping.assignment, String.format(mapping.getter, index))).append(";\n");
+            source.append("        }\n");
+        }
+        source.append("        return entity;\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class FieldMapping {
+        private final String column;
+        private final String assignment;
+        private final String getter;
+
+        private FieldMapping(String column, String assignment, String getter) {
+            this.column = column;
+            this.assignment = assignment;
+            this.getter = getter;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.mdennis10.jdbc_helper.processor;
+
+import com.github.mdennis10.jdbc_helper.DatabaseHelper;
+import com.github.mdennis10.jdbc_helper.DbConfig;
+import com.github.mdennis10.jdbc_helper.RowMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowMapperProcessorTest {
+    @TempDir Path generatedDir;
+
+    @Test void process_generatesRowMapper() throws IOException {
+        JavaFileObject entity = source("com.example.Person",
+            "package com.example;\n" +
+            "import com.github.mdennis10.jdbc_helper.GenerateRowMapper;\n" +
+            "@GenerateRowMapper\n" +
+            "public class Person {\n" +
+            "    private static final String TABLE = \"Person\";\n" +
+            "    private String name;\n" +
+            "    private boolean isActive;\n" +
+            "    java.time.LocalDateTime dateOfBirth;\n" +
+            "    public void setName(String name) { this.name = name; }\n" +
+            "    public void setActive(boolean active) { this.isActive = active; }\n" +
+            "}\n"
+        );
+        List<Diagnostic<? extends JavaFileObject>> errors = process(entity);
+        assertTrue(errors.isEmpty(), errors.toString());
+
+        String generated = new String(
+            Files.readAllBytes(generatedDir.resolve("com/example/Person_RowMapper.java")),
+            StandardCharsets.UTF_8
+        );
+        assertTrue(generated.contains("public final class Person_RowMapper implements com.github.mdennis10.jdbc_helper.RowMapper<com.example.Person>"));
+        assertTrue(generated.contains("private static final String[] COLUMNS = {\"NAME\", \"ISACTIVE\", \"DATEOFBIRTH\"};"));
+        assertTrue(generated.contains("entity.setName(row.getString(columns[0]));"));
+        assertTrue(generated.contains("entity.setActive(row.getBoolean(columns[1]));"));
+        assertTrue(generated.contains("entity.dateOfBirth = row.getObject(columns[2], java.time.LocalDateTime.class);"));
+        assertFalse(generated.contains("TABLE"));
+    }
+
+    @Test void process_inaccessibleFieldReportsError() {
+        JavaFileObject entity = source("com.example.Account",
+            "package com.example;\n" +
+            "import com.github.mdennis10.jdbc_helper.GenerateRowMapper;\n" +
+            "@GenerateRowMapper\n" +
+            "public class Account {\n" +
+            "    private long balance;\n" +
+            "}\n"
+        );
+        List<Diagnostic<? extends JavaFileObject>> errors = process(entity);
+        assertEquals(1, errors.size());
+        assertEquals("No accessible setter or field for balance", errors.get(0).getMessage(null));
+        assertFalse(Files.exists(generatedDir.resolve("com/example/Account_RowMapper.java")));
+    }
+
+    @Test void process_missingNoArgConstructorReportsError() {
+        JavaFileObject entity = source("com.example.Invoice",
+            "package com.example;\n" +
+            "import com.github.mdennis10.jdbc_helper.GenerateRowMapper;\n" +
+            "@GenerateRowMapper\n" +
+            "public class Invoice {\n" +
+            "    long total;\n" +
+            "    public Invoice(long total) { this.total = total; }\n" +
+            "}\n"
+        );
+        List<Diagnostic<? extends JavaFileObject>> errors = process(entity);
+        assertEquals(1, errors.size());
+        assertEquals("@GenerateRowMapper class must have a non-private no-arg constructor", errors.get(0).getMessage(null));
+    }
+
+    @Test void process_generatedMapperUsedByDatabaseHelper() throws Exception {
+        JavaFileObject entity = source("com.example.Customer",
+            "package com.example;\n" +
+            "import com.github.mdennis10.jdbc_helper.GenerateRowMapper;\n" +
+            "@GenerateRowMapper\n" +
+            "public class Customer {\n" +
+            "    private String name;\n" +
+            "    int age;\n" +
+            "    public String getName() { return name; }\n" +
+            "    public void setName(String name) { this.name = name.trim(); }\n" +
+            "}\n"
+        );
+        Path classesDir = Files.createDirectories(generatedDir.resolve("classes"));
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(entity, "-d", classesDir.toString());
+        assertTrue(errors.isEmpty(), errors.toString());
+
+        DbConfig config = new DbConfig("sa", "sa", "jdbc:h2:mem:processor_test;DB_CLOSE_DELAY=-1", "org.h2.Driver");
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> customer = loader.loadClass("com.example.Customer");
+            assertTrue(RowMapper.class.isAssignableFrom(loader.loadClass("com.example.Customer_RowMapper")));
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            databaseHelper.executeUpdate("CREATE TABLE Customer(name varchar(50), age int)", new Object[]{});
+            databaseHelper.executeUpdate("INSERT INTO Customer(name, age) VALUES(?, ?)", new Object[]{" JohnDoe ", 42});
+            List<?> customers = databaseHelper.queryForList(customer, "SELECT * FROM Customer", new Object[]{});
+            assertEquals(1, customers.size());
+            // the generated mapper calls the setter, reflection would assign the field as read
+            assertEquals("JohnDoe", customer.getMethod("getName").invoke(customers.get(0)));
+            Field age = customer.getDeclaredField("age");
+            age.setAccessible(true);
+            assertEquals(42, age.getInt(customers.get(0)));
+        } finally {
+            DatabaseHelper.close();
+        }
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> process(JavaFileObject entity) {
+        return compile(entity, "-proc:only");
+    }
+
+    /** Compiles entity against the test classpath, which holds the library the generated mapper refers to. */
+    private List<Diagnostic<? extends JavaFileObject>> compile(JavaFileObject entity, String... options) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        List<String> arguments = new ArrayList<>(Arrays.asList(options));
+        arguments.addAll(Arrays.asList("-s", generatedDir.toString(), "-classpath", System.getProperty("java.class.path")));
+        JavaCompiler.CompilationTask task = compiler.getTask(
+            null,
+            fileManager,
+            diagnostics,
+            arguments,
+            Collections.emptyList(),
+            Collections.singletonList(entity)
+        );
+        task.setProcessors(Collections.singletonList(new RowMapperProcessor()));
+        task.call();
+        return diagnostics.getDiagnostics()
+            .stream()
+            .filter(x -> x.getKind() == Diagnostic.Kind.ERROR)
+            .collect(Collectors.toList());
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,238 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous variant of {@link DatabaseHelper}. Operations run on an executor and
+ * complete the returned future, so caller threads are not blocked for the JDBC round trip.
+ * Concurrent operations are capped so callers queue instead of oversubscribing the pool.
+ * Operations over the cap wait in a queue and are handed to the executor as running
+ * ones complete, so neither callers nor executor threads block waiting for a permit.
+ * @author Mario Dennis
+ */
+public final class AsyncDatabaseHelper implements Closeable {
+    private final DatabaseHelper databaseHelper;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final Queue<Operation<?>> waiting = new ConcurrentLinkedQueue<>();
+    private final boolean ownsExecutor;
+
+    /**
+     * Create async helper running on virtual threads when the JDK supports them,
+     * otherwise on a thread pool the size of the connection pool.
+     * @author Mario Dennis
+     * @param config - database configuration
+     */
+    public AsyncDatabaseHelper(@NotNull DbConfig config) {
+        this(new DatabaseHelper(config), newDefaultExecutor(config.getMaximumPoolSize()), config.getMaximumPoolSize(), true);
+    }
+
+    /**
+     * Create async helper running on the supplied executor.
+     * @author Mario Dennis
+     * @param databaseHelper - helper used to execute operations
+     * @param executor - executor operations run on
+     * @param maxConcurrency - maximum number of operations holding a connection at once
+     */
+    public AsyncDatabaseHelper(@NotNull DatabaseHelper databaseHelper, @NotNull Executor executor, int maxConcurrency) {
+        this(databaseHelper, executor, maxConcurrency, false);
+    }
+
+    private AsyncDatabaseHelper(DatabaseHelper databaseHelper, Executor executor, int maxConcurrency, boolean ownsExecutor) {
+        Preconditions.checkNotNull(databaseHelper, "Null databaseHelper supplied");
+        Preconditions.checkNotNull(executor, "Null executor supplied");
+        Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be greater than zero");
+        this.databaseHelper = databaseHelper;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    private static ExecutorService newDefaultExecutor(int poolSize) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newFixedThreadPool(
+                poolSize,
+                new ThreadFactoryBuilder().setNameFormat("jdbc-helper-async-%d").setDaemon(true).build()
+            );
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(new Operation<>(operation, result));
+        dispatch();
+        return result;
+    }
+
+    /** Hands waiting operations to the executor while permits are free. Called on submit and after each operation completes. */
+    private void dispatch() {
+        while(!waiting.isEmpty() && permits.tryAcquire()) {
+            Operation<?> operation = waiting.poll();
+            if(operation == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                executor.execute(operation);
+            } catch (RuntimeException e) {
+                permits.release();
+                operation.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results, one row at a time
+     * @param <T> - entity class
+     * @return future completed with single row of result extracted from mapper
+     */
+    public <T> CompletableFuture<Optional<T>> query(@NotNull String sql, @NotNull Object[] arguments, @NotNull ColumnMapper<T> mapper) {
+        return submit(() -> databaseHelper.query(sql, arguments, mapper));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param <T> - entity class
+     * @return future completed with instance of entity class with result row mapped
+     */
+    public <T> CompletableFuture<Optional<T>> query(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments) {
+        return submit(() -> databaseHelper.query(clazz, sql, arguments));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return future completed with single row of result extracted from mapper
+     */
+    public <T> CompletableFuture<Optional<T>> queryRow(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper) {
+        return submit(() -> databaseHelper.queryRow(sql, arguments, mapper));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results, one row at a time
+     * @param <T> - entity class
+     * @return future completed with rows of results extracted from mapper
+     */
+    public <T> CompletableFuture<List<T>> queryForList(@NotNull String sql, @NotNull Object[] arguments, @NotNull ColumnMapper<T> mapper) {
+        return submit(() -> databaseHelper.queryForList(sql, arguments, mapper));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param <T> - entity class
+     * @return future completed with rows of results mapped to the entity class
+     */
+    public <T> CompletableFuture<List<T>> queryForList(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments) {
+        return submit(() -> databaseHelper.queryForList(clazz, sql, arguments));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return future completed with rows of results extracted from mapper
+     */
+    public <T> CompletableFuture<List<T>> queryRows(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper) {
+        return submit(() -> databaseHelper.queryRows(sql, arguments, mapper));
+    }
+
+    /**
+     * Issue a single SQL update operation (such as an insert, update or delete statement)
+     * using the supplied SQL statement with the batch of supplied arguments.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return future completed with number of rows affected
+     */
+    public CompletableFuture<Integer> executeUpdate(@NotNull String sql, @Nullable Object[] arguments) {
+        return submit(() -> databaseHelper.executeUpdate(sql, arguments));
+    }
+
+    /**
+     * Execute a batch update operation (such as an insert, update or delete statement)
+     * using the supplied SQL statement with the batch of supplied arguments.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return future completed with number of rows affected
+     */
+    public CompletableFuture<int[]> executeBatchUpdate(@NotNull String sql, @NotNull List<Object[]> arguments) {
+        return submit(() -> databaseHelper.executeBatchUpdate(sql, arguments));
+    }
+
+    /**
+     * Shuts down the executor created by this helper. Executors supplied by
+     * the caller are left running.
+     * @author Mario Dennis
+     */
+    @Override
+    public void close() {
+        if(ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private final class Operation<T> implements Runnable {
+        private final Supplier<T> supplier;
+        private final CompletableFuture<T> result;
+
+        private Operation(Supplier<T> supplier, CompletableFuture<T> result) {
+            this.supplier = supplier;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                permits.release();
+                dispatch();
+            }
+        }
+    }
+}
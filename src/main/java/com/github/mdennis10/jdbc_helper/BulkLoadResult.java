@@ -0,0 +1,91 @@
+package com.github.mdennis10.jdbc_helper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a {@link CsvBulkLoader} run.
+ * @author Mario Dennis
+ */
+public final class BulkLoadResult {
+    private final long rowsLoaded;
+    private final long rowsFailed;
+    private final long elapsedNanos;
+    private final List<ChunkFailure> failures;
+
+    protected BulkLoadResult(long rowsLoaded, long rowsFailed, long elapsedNanos, List<ChunkFailure> failures) {
+        this.rowsLoaded = rowsLoaded;
+        this.rowsFailed = rowsFailed;
+        this.elapsedNanos = elapsedNanos;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get load throughput.
+     * @author Mario Dennis
+     * @return rows loaded per second of elapsed time
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsLoaded * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Get chunks that were rolled back, ordered by their position in the file.
+     * @author Mario Dennis
+     * @return failed chunks, empty when every row was loaded
+     */
+    public List<ChunkFailure> getFailures() {
+        return failures;
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Chunk of rows that could not be loaded. None of its rows were committed.
+     * @author Mario Dennis
+     */
+    public static final class ChunkFailure {
+        private final long chunk;
+        private final long firstLine;
+        private final int rowCount;
+        private final RuntimeException cause;
+
+        protected ChunkFailure(long chunk, long firstLine, int rowCount, RuntimeException cause) {
+            this.chunk = chunk;
+            this.firstLine = firstLine;
+            this.rowCount = rowCount;
+            this.cause = cause;
+        }
+
+        public long getChunk() {
+            return chunk;
+        }
+
+        public long getFirstLine() {
+            return firstLine;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public RuntimeException getCause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes how long a query result may be served from the {@link QueryCache}
+ * and which tables it was read from. Results are dropped once their time to live
+ * passes, or earlier when an update invalidates one of their tags.
+ * @author Mario Dennis
+ */
+public final class CachePolicy {
+    private final long ttlNanos;
+    private final String[] tags;
+
+    private CachePolicy(long ttlNanos, String[] tags) {
+        this.ttlNanos = ttlNanos;
+        this.tags = tags;
+    }
+
+    /**
+     * Create policy that caches a result for the given time.
+     * @author Mario Dennis
+     * @param duration - time the result may be served from the cache
+     * @param unit - unit of the duration
+     * @param tags - names (usually tables) that updates use to invalidate the result
+     * @return cache policy
+     */
+    public static CachePolicy expireAfter(long duration, @NotNull TimeUnit unit, @NotNull String... tags) {
+        Preconditions.checkArgument(duration > 0, "duration must be greater than zero");
+        Preconditions.checkNotNull(unit, "Null unit supplied");
+        Preconditions.checkNotNull(tags, "Null tags supplied");
+        for(String tag : tags) {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(tag), "Null or empty tag supplied");
+        }
+        return new CachePolicy(unit.toNanos(duration), tags.clone());
+    }
+
+    protected long getTtlNanos() {
+        return ttlNanos;
+    }
+
+    protected String[] getTags() {
+        return tags;
+    }
+}
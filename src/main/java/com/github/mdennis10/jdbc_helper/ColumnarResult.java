@@ -0,0 +1,214 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+
+import javax.validation.constraints.NotNull;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Query result stored column by column. Integer columns are held in a {@code long[]}
+ * and floating point columns in a {@code double[]}, so numeric values are never boxed.
+ * Other columns are held as objects. Null cells read as 0 from primitive columns and
+ * can be detected with {@link #isNull(int, int)}. Columns and rows are indexed from 1.
+ * @author Mario Dennis
+ */
+public final class ColumnarResult {
+    public enum ColumnType {
+        LONG,
+        DOUBLE,
+        OBJECT
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+    private final String[] columnNames;
+    private final ColumnType[] columnTypes;
+    private final long[][] longColumns;
+    private final double[][] doubleColumns;
+    private final Object[][] objectColumns;
+    private final BitSet[] nulls;
+    private final int rowCount;
+
+    private ColumnarResult(String[] columnNames, ColumnType[] columnTypes, long[][] longColumns,
+                           double[][] doubleColumns, Object[][] objectColumns, BitSet[] nulls, int rowCount) {
+        this.columnNames = columnNames;
+        this.columnTypes = columnTypes;
+        this.longColumns = longColumns;
+        this.doubleColumns = doubleColumns;
+        this.objectColumns = objectColumns;
+        this.nulls = nulls;
+        this.rowCount = rowCount;
+    }
+
+    protected static ColumnarResult read(@NotNull ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] columnNames = ExecutorHelperUtil.getColumnNames(resultSet);
+        int columnCount = columnNames.length;
+        ColumnType[] columnTypes = new ColumnType[columnCount];
+        long[][] longColumns = new long[columnCount][];
+        double[][] doubleColumns = new double[columnCount][];
+        Object[][] objectColumns = new Object[columnCount][];
+        BitSet[] nulls = new BitSet[columnCount];
+        for(int x = 0; x < columnCount; x++) {
+            columnTypes[x] = columnTypeOf(metaData.getColumnType(x + 1));
+            nulls[x] = new BitSet();
+            switch (columnTypes[x]) {
+                case LONG:
+                    longColumns[x] = new long[INITIAL_CAPACITY];
+                    break;
+                case DOUBLE:
+                    doubleColumns[x] = new double[INITIAL_CAPACITY];
+                    break;
+                default:
+                    objectColumns[x] = new Object[INITIAL_CAPACITY];
+            }
+        }
+
+        int capacity = INITIAL_CAPACITY;
+        int rowCount = 0;
+        while(resultSet.next()) {
+            if(rowCount == capacity) {
+                capacity *= 2;
+                grow(capacity, longColumns, doubleColumns, objectColumns);
+            }
+            for(int x = 0; x < columnCount; x++) {
+                switch (columnTypes[x]) {
+                    case LONG:
+                        longColumns[x][rowCount] = resultSet.getLong(x + 1);
+                        break;
+                    case DOUBLE:
+                        doubleColumns[x][rowCount] = resultSet.getDouble(x + 1);
+                        break;
+                    default:
+                        objectColumns[x][rowCount] = resultSet.getObject(x + 1);
+                }
+                if(resultSet.wasNull()) {
+                    nulls[x].set(rowCount);
+                }
+            }
+            rowCount++;
+        }
+        grow(rowCount, longColumns, doubleColumns, objectColumns);
+        return new ColumnarResult(columnNames, columnTypes, longColumns, doubleColumns, objectColumns, nulls, rowCount);
+    }
+
+    private static ColumnType columnTypeOf(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return ColumnType.LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ColumnType.DOUBLE;
+            default:
+                return ColumnType.OBJECT;
+        }
+    }
+
+    private static void grow(int capacity, long[][] longColumns, double[][] doubleColumns, Object[][] objectColumns) {
+        for(int x = 0; x < longColumns.length; x++) {
+            if(longColumns[x] != null) {
+                longColumns[x] = Arrays.copyOf(longColumns[x], capacity);
+            } else if(doubleColumns[x] != null) {
+                doubleColumns[x] = Arrays.copyOf(doubleColumns[x], capacity);
+            } else {
+                objectColumns[x] = Arrays.copyOf(objectColumns[x], capacity);
+            }
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public String getColumnName(int column) {
+        return columnNames[column - 1];
+    }
+
+    public ColumnType getColumnType(int column) {
+        return columnTypes[column - 1];
+    }
+
+    /**
+     * Resolve column name to its index. Names are matched case insensitively.
+     * @author Mario Dennis
+     * @param name - the column name
+     * @return index of the column, starting at 1
+     */
+    public int findColumn(@NotNull String name) {
+        for(int x = 0; x < columnNames.length; x++) {
+            if(columnNames[x] != null && columnNames[x].equalsIgnoreCase(name)) {
+                return x + 1;
+            }
+        }
+        throw new DatabaseHelperSQLException("Column " + name + " not found in result");
+    }
+
+    /**
+     * Get values of an integer column. The array is the result's own storage
+     * and must not be modified.
+     * @author Mario Dennis
+     * @param column - index of the column, starting at 1
+     * @return column values, one per row
+     */
+    public long[] getLongColumn(int column) {
+        return column(column, ColumnType.LONG, longColumns);
+    }
+
+    /**
+     * Get values of a floating point column. The array is the result's own storage
+     * and must not be modified.
+     * @author Mario Dennis
+     * @param column - index of the column, starting at 1
+     * @return column values, one per row
+     */
+    public double[] getDoubleColumn(int column) {
+        return column(column, ColumnType.DOUBLE, doubleColumns);
+    }
+
+    /**
+     * Get values of a column that is neither integer nor floating point. The array
+     * is the result's own storage and must not be modified.
+     * @author Mario Dennis
+     * @param column - index of the column, starting at 1
+     * @return column values, one per row
+     */
+    public Object[] getObjectColumn(int column) {
+        return column(column, ColumnType.OBJECT, objectColumns);
+    }
+
+    public long getLong(int column, int row) {
+        return getLongColumn(column)[row - 1];
+    }
+
+    public double getDouble(int column, int row) {
+        return getDoubleColumn(column)[row - 1];
+    }
+
+    public Object getObject(int column, int row) {
+        return getObjectColumn(column)[row - 1];
+    }
+
+    public boolean isNull(int column, int row) {
+        return nulls[column - 1].get(row - 1);
+    }
+
+    private <A> A column(int column, ColumnType expected, A[] columns) {
+        ColumnType actual = getColumnType(column);
+        if(actual != expected) {
+            throw new IllegalArgumentException("Column " + column + " is of type " + actual + " not " + expected);
+        }
+        return columns[column - 1];
+    }
+}
@@ -0,0 +1,324 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.BulkLoadResult.ChunkFailure;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Loads delimited text files into a table. The calling thread reads and splits records
+ * and hands them, in chunks, through a bounded queue to worker threads that insert each
+ * chunk as one batch on a pooled connection and commit it. When the workers fall behind
+ * the reader waits, so memory use is bounded by the queue capacity rather than the file size.
+ * <p>
+ * A chunk that fails is rolled back and reported in the result; the remaining chunks
+ * are still loaded.
+ * @author Mario Dennis
+ */
+public final class CsvBulkLoader {
+    protected static final int DEFAULT_CHUNK_SIZE = 1000;
+    protected static final int DEFAULT_PARALLELISM = 2;
+    private static final Chunk END = new Chunk(-1, 0, Collections.emptyList());
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private final DatabaseHelper databaseHelper;
+    private final String sql;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final char delimiter;
+    private final boolean skipHeader;
+    private final Charset charset;
+    private final Function<String[], Object[]> rowMapper;
+
+    private CsvBulkLoader(Builder builder) {
+        this.databaseHelper = builder.databaseHelper;
+        this.sql = builder.sql;
+        this.chunkSize = builder.chunkSize;
+        this.parallelism = builder.parallelism;
+        this.queueCapacity = builder.queueCapacity == 0 ? builder.parallelism * 2 : builder.queueCapacity;
+        this.delimiter = builder.delimiter;
+        this.skipHeader = builder.skipHeader;
+        this.charset = builder.charset;
+        this.rowMapper = builder.rowMapper;
+    }
+
+    /**
+     * Create builder for a loader inserting each record with the supplied statement.
+     * @author Mario Dennis
+     * @param databaseHelper - helper providing the connections
+     * @param sql - the insert statement, with one parameter per value the row mapper returns
+     * @return builder
+     */
+    public static Builder builder(@NotNull DatabaseHelper databaseHelper, @NotNull String sql) {
+        return new Builder(databaseHelper, sql);
+    }
+
+    /**
+     * Load file.
+     * @author Mario Dennis
+     * @param file - the file to load
+     * @return rows loaded, failed chunks and throughput
+     * @throws UncheckedIOException if the file can't be read or is malformed
+     * @throws IllegalStateException if interrupted before every record is queued
+     */
+    public BulkLoadResult load(@NotNull Path file) {
+        Preconditions.checkNotNull(file, "Null file supplied");
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            return load(Channels.newReader(channel, charset.newDecoder(), -1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Load records read from reader. The reader is closed once loading completes.
+     * @author Mario Dennis
+     * @param reader - source of the records
+     * @return rows loaded, failed chunks and throughput
+     * @throws UncheckedIOException if reading fails or the input is malformed
+     * @throws IllegalStateException if interrupted before every record is queued
+     */
+    public BulkLoadResult load(@NotNull Reader reader) {
+        Preconditions.checkNotNull(reader, "Null reader supplied");
+        long startTime = System.nanoTime();
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        LongAdder rowsLoaded = new LongAdder();
+        LongAdder rowsFailed = new LongAdder();
+        List<ChunkFailure> failures = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService workers = Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder().setNameFormat("jdbc-helper-bulk-load-%d").setDaemon(true).build()
+        );
+        List<Future<?>> consumers = new ArrayList<>();
+        try(CsvReader csv = new CsvReader(reader, delimiter)) {
+            for(int x = 0; x < parallelism; x++) {
+                consumers.add(workers.submit(() -> {
+                    consume(queue, rowsLoaded, rowsFailed, failures);
+                    return null;
+                }));
+            }
+            produce(csv, queue, consumers);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            finish(queue, consumers);
+            workers.shutdown();
+        }
+        List<ChunkFailure> sorted = new ArrayList<>(failures);
+        sorted.sort(Comparator.comparingLong(ChunkFailure::getChunk));
+        return new BulkLoadResult(rowsLoaded.sum(), rowsFailed.sum(), System.nanoTime() - startTime, sorted);
+    }
+
+    private void produce(CsvReader csv, BlockingQueue<Chunk> queue, List<Future<?>> consumers) throws IOException {
+        if(skipHeader && csv.next() == null) {
+            return;
+        }
+        long chunkIndex = 0;
+        List<String[]> records = new ArrayList<>(chunkSize);
+        long firstLine = 0;
+        String[] record;
+        while((record = csv.next()) != null) {
+            if(records.isEmpty()) {
+                firstLine = csv.getRecordLine();
+            }
+            records.add(record);
+            if(records.size() == chunkSize) {
+                offer(queue, new Chunk(chunkIndex++, firstLine, records), consumers);
+                records = new ArrayList<>(chunkSize);
+            }
+        }
+        if(!records.isEmpty()) {
+            offer(queue, new Chunk(chunkIndex, firstLine, records), consumers);
+        }
+    }
+
+    /**
+     * Waits for queue space. Throws rather than dropping the chunk, so a load that stops
+     * early is never reported as successful; when every consumer has died, finish rethrows
+     * what killed them instead.
+     */
+    private static void offer(BlockingQueue<Chunk> queue, Chunk chunk, List<Future<?>> consumers) {
+        while(true) {
+            try {
+                if(queue.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted before loading chunk " + chunk.index, e);
+            }
+            if(consumers.stream().allMatch(Future::isDone)) {
+                throw new IllegalStateException("Every loader thread stopped before loading chunk " + chunk.index);
+            }
+        }
+    }
+
+    private void consume(BlockingQueue<Chunk> queue, LongAdder rowsLoaded, LongAdder rowsFailed, List<ChunkFailure> failures) throws InterruptedException {
+        while(true) {
+            Chunk chunk = queue.take();
+            if(chunk == END) {
+                return;
+            }
+            try {
+                List<Object[]> rows = new ArrayList<>(chunk.records.size());
+                for(String[] record : chunk.records) {
+                    rows.add(rowMapper.apply(record));
+                }
+                databaseHelper.executeBatchUpdate(sql, rows.iterator(), rows.size(), true);
+                rowsLoaded.add(rows.size());
+            } catch (RuntimeException e) {
+                rowsFailed.add(chunk.records.size());
+                failures.add(new ChunkFailure(chunk.index, chunk.firstLine, chunk.records.size(), e));
+            }
+        }
+    }
+
+    private static void finish(BlockingQueue<Chunk> queue, List<Future<?>> consumers) {
+        for(Future<?> consumer : consumers) {
+            if(!consumer.isDone()) {
+                Uninterruptibles.putUninterruptibly(queue, END);
+            }
+        }
+        for(Future<?> consumer : consumers) {
+            try {
+                Uninterruptibles.getUninterruptibly(consumer);
+            } catch (ExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private static final class Chunk {
+        private final long index;
+        private final long firstLine;
+        private final List<String[]> records;
+
+        private Chunk(long index, long firstLine, List<String[]> records) {
+            this.index = index;
+            this.firstLine = firstLine;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Builder for CsvBulkLoader.
+     * @author Mario Dennis
+     */
+    public static final class Builder {
+        private final DatabaseHelper databaseHelper;
+        private final String sql;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private int queueCapacity;
+        private char delimiter = ',';
+        private boolean skipHeader;
+        private Charset charset = StandardCharsets.UTF_8;
+        private Function<String[], Object[]> rowMapper = record -> record;
+
+        private Builder(DatabaseHelper databaseHelper, String sql) {
+            Preconditions.checkNotNull(databaseHelper, "Null databaseHelper supplied");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            this.databaseHelper = databaseHelper;
+            this.sql = sql;
+        }
+
+        /**
+         * Number of rows inserted and committed together.
+         * @author Mario Dennis
+         * @param chunkSize - rows per chunk
+         * @return this builder
+         */
+        public Builder chunkSize(int chunkSize) {
+            Preconditions.checkArgument(chunkSize > 0, "chunkSize must be greater than zero");
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Number of chunks inserted at once, each on its own connection.
+         * @author Mario Dennis
+         * @param parallelism - number of worker threads
+         * @return this builder
+         */
+        public Builder parallelism(int parallelism) {
+            Preconditions.checkArgument(parallelism > 0, "parallelism must be greater than zero");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Number of parsed chunks held waiting for a worker. Defaults to twice the parallelism.
+         * @author Mario Dennis
+         * @param queueCapacity - maximum number of waiting chunks
+         * @return this builder
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be greater than zero");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder delimiter(char delimiter) {
+            Preconditions.checkArgument(delimiter != '"' && delimiter != '\n' && delimiter != '\r', "Invalid delimiter supplied");
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public Builder skipHeader(boolean skipHeader) {
+            this.skipHeader = skipHeader;
+            return this;
+        }
+
+        public Builder charset(@NotNull Charset charset) {
+            Preconditions.checkNotNull(charset, "Null charset supplied");
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * Converts the fields of a record to the statement's arguments. Runs on the
+         * worker threads; a failure fails the record's chunk. Defaults to binding
+         * the fields as strings.
+         * @author Mario Dennis
+         * @param rowMapper - converts fields to arguments
+         * @return this builder
+         */
+        public Builder rowMapper(@NotNull Function<String[], Object[]> rowMapper) {
+            Preconditions.checkNotNull(rowMapper, "Null mapper supplied");
+            this.rowMapper = rowMapper;
+            return this;
+        }
+
+        public CsvBulkLoader build() {
+            return new CsvBulkLoader(this);
+        }
+    }
+}
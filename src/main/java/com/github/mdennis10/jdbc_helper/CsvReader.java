@@ -0,0 +1,134 @@
+package com.github.mdennis10.jdbc_helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of delimiter separated records. Fields may be quoted with double
+ * quotes, in which case they can contain the delimiter, line breaks and doubled quotes.
+ * Empty unquoted fields are read as null and blank lines are skipped. Lines end
+ * with LF or CRLF.
+ * @author Mario Dennis
+ */
+final class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    protected CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Read next record.
+     * @author Mario Dennis
+     * @return fields of the record, null at end of input
+     * @throws IOException if reading fails or a quoted field is not terminated
+     */
+    protected String[] next() throws IOException {
+        int c = read();
+        // blank lines don't hold records
+        while(c == '\n' || (c == '\r' && peek() == '\n')) {
+            if(c == '\n') {
+                line++;
+            }
+            c = read();
+        }
+        if(c == -1) {
+            return null;
+        }
+        recordLine = line;
+        fields.clear();
+        boolean isQuoted = false;
+        while(true) {
+            if(c == '"' && field.length() == 0 && !isQuoted) {
+                readQuoted();
+                isQuoted = true;
+                c = read();
+                continue;
+            }
+            if(c == delimiter || c == '\n' || c == -1) {
+                fields.add(isQuoted || field.length() > 0 ? field.toString() : null);
+                field.setLength(0);
+                isQuoted = false;
+                if(c != delimiter) {
+                    if(c == '\n') {
+                        line++;
+                    }
+                    return fields.toArray(new String[0]);
+                }
+            } else if(c != '\r' || peek() != '\n') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Get line the last record returned by {@link #next()} started on.
+     * @author Mario Dennis
+     * @return line number, starting at 1
+     */
+    protected long getRecordLine() {
+        return recordLine;
+    }
+
+    private void readQuoted() throws IOException {
+        long startLine = line;
+        while(true) {
+            int c = read();
+            if(c == -1) {
+                throw new IOException("Unterminated quoted field starting on line " + startLine);
+            }
+            if(c == '"') {
+                if(peek() != '"') {
+                    return;
+                }
+                read();
+            } else if(c == '\n') {
+                line++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int read() throws IOException {
+        if(position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if(position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if(read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -2,26 +2,89 @@ package com.github.mdennis10.jdbc_helper;
 
 
 import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 public final class DatabaseHelper {
+    private static final Executor PARTITION_EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("jdbc-helper-partition-%d").setDaemon(true).build()
+    );
     private static ConnectionManager connectionManager;
     private final DbConfig config;
     private final UpdateExecutor updateExecutor;
     private final QueryExecutor queryExecutor;
+    private final MetricsCollector metrics;
+    private final ReplicaRouter router;
+    private volatile QueryCache queryCache;
+    private volatile SingleFlight singleFlight;
+    private volatile WriteCoalescer writeCoalescer;
+    private volatile boolean splitInLists;
 
     public DatabaseHelper(DbConfig config) {
-        this.config = config;
+        this(config, MetricsCollector.NO_OP);
+    }
+
+    /**
+     * Create DatabaseHelper that reports connection wait, statement timings,
+     * row counts and batch sizes to the supplied collector.
+     * @author Mario Dennis
+     * @param config - database configuration
+     * @param metrics - collector receiving metrics, {@link MetricsCollector#NO_OP} to disable
+     */
+    public DatabaseHelper(DbConfig config, @NotNull MetricsCollector metrics) {
+        this(config, null, metrics);
+    }
+
+    /**
+     * Create DatabaseHelper that sends queries to the replicas selected by router,
+     * while updates, batch updates and transactions stay on the primary.
+     * @author Mario Dennis
+     * @param primary - primary database configuration
+     * @param router - selects the replica each query is sent to
+     */
+    public DatabaseHelper(DbConfig primary, @NotNull ReplicaRouter router) {
+        this(primary, Preconditions.checkNotNull(router, "Null router supplied"), MetricsCollector.NO_OP);
+    }
+
+    /**
+     * Create DatabaseHelper that sends queries to the replicas selected by router
+     * and reports metrics to the supplied collector.
+     * @author Mario Dennis
+     * @param primary - primary database configuration
+     * @param router - selects the replica each query is sent to, null to send everything to the primary
+     * @param metrics - collector receiving metrics, {@link MetricsCollector#NO_OP} to disable
+     */
+    public DatabaseHelper(DbConfig primary, @Nullable ReplicaRouter router, @NotNull MetricsCollector metrics) {
+        Preconditions.checkNotNull(metrics, "Null metrics supplied");
+        this.config = primary;
         this.connectionManager = HikariConnectionManager.getInstance();
-        this.updateExecutor = new UpdateExecutor();
-        this.queryExecutor = new QueryExecutor();
+        this.metrics = metrics;
+        this.router = router;
+        this.updateExecutor = new UpdateExecutor(metrics);
+        this.queryExecutor = new QueryExecutor(metrics);
     }
 
     /**
@@ -33,14 +96,94 @@ public final class DatabaseHelper {
         DatabaseHelper.connectionManager = connectionManager;
     }
 
+    /**
+     * Set cache used by queries given a {@link CachePolicy}. Without a cache
+     * those queries always go to the database.
+     * @author Mario Dennis
+     * @param queryCache - the query cache, null to disable caching
+     */
+    public void setQueryCache(@Nullable QueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    /**
+     * Enable or disable single-flight mode. While enabled, concurrent calls of query
+     * or queryForList with the same SQL, arguments and entity class or mapper share one
+     * execution and one connection. Waiting callers receive the same entities (in their
+     * own list). Threads inside a read-your-writes window never join another thread's query.
+     * @author Mario Dennis
+     * @param enabled - true to coalesce identical concurrent queries
+     */
+    public void setSingleFlight(boolean enabled) {
+        this.singleFlight = enabled ? new SingleFlight() : null;
+    }
+
+    /**
+     * Set coalescer that batches concurrent executeUpdate calls with the same SQL.
+     * @author Mario Dennis
+     * @param writeCoalescer - the write coalescer, null to run every update on its own
+     */
+    public void setWriteCoalescer(@Nullable WriteCoalescer writeCoalescer) {
+        this.writeCoalescer = writeCoalescer;
+    }
+
+    /**
+     * Enable or disable splitting of large collection arguments. While enabled, list and
+     * stream queries may bind one collection of more than 1000 elements; it is run as
+     * several statements of at most 1000 distinct elements and the rows are concatenated.
+     * That is only correct for a plain {@code IN} filter without ordering, grouping or
+     * limits. Updates and single row queries always reject such collections.
+     * @author Mario Dennis
+     * @param enabled - true to split large collections in list and stream queries
+     */
+    public void setInListSplitting(boolean enabled) {
+        this.splitInLists = enabled;
+    }
+
     private Connection getConnection(DbConfig config) {
         try {
-            return connectionManager.getDataSource(config).getConnection();
+            if(!metrics.isEnabled()) {
+                return connectionManager.getDataSource(config).getConnection();
+            }
+            long startTime = System.nanoTime();
+            Connection connection = connectionManager.getDataSource(config).getConnection();
+            metrics.recordConnectionWait(System.nanoTime() - startTime);
+            return connection;
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e.getMessage());
         }
     }
 
+    private Connection getReadConnection() {
+        return getConnection(router == null ? config : router.route(config, connectionManager));
+    }
+
+    private <V> V coalesce(QueryKey key, Supplier<V> query, UnaryOperator<V> share) {
+        SingleFlight flight = singleFlight;
+        if(flight == null || (router != null && router.isWithinWriteWindow())) {
+            return query.get();
+        }
+        return flight.execute(key, query, share);
+    }
+
+    private void invalidate(String[] tags) {
+        Preconditions.checkNotNull(tags, "Null tags supplied");
+        QueryCache cache = queryCache;
+        if(cache != null && tags.length > 0) {
+            cache.invalidateTags(tags);
+        }
+    }
+
+    private static boolean expandsInList(String sql, Object[] arguments) {
+        return !Strings.isNullOrEmpty(sql) && InListExpansion.hasCollection(arguments);
+    }
+
+    private void markWrite() {
+        if(router != null) {
+            router.markWrite();
+        }
+    }
+
 
     /**
      * Query database using given SQL data access statement provided.
@@ -52,7 +195,17 @@ public final class DatabaseHelper {
      * @return single row of result extracted from mapper
      */
     public <T> Optional<T> query(@NotNull String sql, @NotNull Object[] arguments, @NotNull ColumnMapper<T> mapper) {
-        return queryExecutor.query(true, getConnection(config), sql, arguments, mapper);
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.query(sql, arguments, (chunkSql, chunkArguments) -> query(chunkSql, chunkArguments, mapper));
+        }
+        if(singleFlight == null || sql == null || mapper == null) {
+            return queryExecutor.query(true, getReadConnection(), sql, arguments, mapper);
+        }
+        return coalesce(
+            QueryKey.forRow(sql, arguments, mapper),
+            () -> queryExecutor.query(true, getReadConnection(), sql, arguments, mapper),
+            UnaryOperator.identity()
+        );
     }
 
     /**
@@ -65,7 +218,17 @@ public final class DatabaseHelper {
      * @return instance of entity class with result row mapped
      */
     public <T> Optional<T> query(@NotNull Class<T> clazz,@NotNull String sql, @NotNull Object[] arguments) {
-        return queryExecutor.query(true, getConnection(config), clazz, sql, arguments);
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.query(sql, arguments, (chunkSql, chunkArguments) -> query(clazz, chunkSql, chunkArguments));
+        }
+        if(singleFlight == null || clazz == null || sql == null) {
+            return queryExecutor.query(true, getReadConnection(), clazz, sql, arguments);
+        }
+        return coalesce(
+            QueryKey.forRow(sql, arguments, clazz),
+            () -> queryExecutor.query(true, getReadConnection(), clazz, sql, arguments),
+            UnaryOperator.identity()
+        );
     }
 
 
@@ -79,7 +242,17 @@ public final class DatabaseHelper {
      * @return rows of results extracted from mapper
      */
     public <T> List<T> queryForList(@NotNull String sql, @NotNull Object[] arguments, ColumnMapper<T> mapper){
-        return queryExecutor.queryForList(true, getConnection(config), sql, arguments, mapper);
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForList(sql, arguments, splitInLists, (chunkSql, chunkArguments) -> queryForList(chunkSql, chunkArguments, mapper));
+        }
+        if(singleFlight == null || sql == null || mapper == null) {
+            return queryExecutor.queryForList(true, getReadConnection(), sql, arguments, mapper);
+        }
+        return coalesce(
+            QueryKey.forList(sql, arguments, mapper),
+            () -> queryExecutor.queryForList(true, getReadConnection(), sql, arguments, mapper),
+            ArrayList::new
+        );
     }
 
     /**
@@ -92,7 +265,401 @@ public final class DatabaseHelper {
      * @return rows of results extracted from mapper
      */
     public <T> List<T> queryForList(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments) {
-        return queryExecutor.queryForList(true, getConnection(config), clazz, sql, arguments);
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForList(sql, arguments, splitInLists, (chunkSql, chunkArguments) -> queryForList(clazz, chunkSql, chunkArguments));
+        }
+        if(singleFlight == null || clazz == null || sql == null) {
+            return queryExecutor.queryForList(true, getReadConnection(), clazz, sql, arguments);
+        }
+        return coalesce(
+            QueryKey.forList(sql, arguments, clazz),
+            () -> queryExecutor.queryForList(true, getReadConnection(), clazz, sql, arguments),
+            ArrayList::new
+        );
+    }
+
+    /**
+     * Query database using given SQL data access statement provided, serving the
+     * result from the query cache while the policy allows. The mapper is part of the
+     * cache key, so it should be reused across calls (for example a constant) to get hits.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results, one row at a time
+     * @param policy - how long the result may be cached and the tags that invalidate it
+     * @param <T> - entity class
+     * @return single row of result extracted from mapper
+     */
+    public <T> Optional<T> query(@NotNull String sql, @NotNull Object[] arguments, @NotNull ColumnMapper<T> mapper, @NotNull CachePolicy policy) {
+        Preconditions.checkNotNull(policy, "Null cache policy supplied");
+        QueryCache cache = queryCache;
+        if(cache == null || sql == null || mapper == null) {
+            return query(sql, arguments, mapper);
+        }
+        return cache.get(QueryKey.forRow(sql, arguments, mapper), policy, () -> query(sql, arguments, mapper), value -> 1);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided, serving the
+     * result from the query cache while the policy allows.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param policy - how long the result may be cached and the tags that invalidate it
+     * @param <T> - entity class
+     * @return instance of entity class with result row mapped
+     */
+    public <T> Optional<T> query(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments, @NotNull CachePolicy policy) {
+        Preconditions.checkNotNull(policy, "Null cache policy supplied");
+        QueryCache cache = queryCache;
+        if(cache == null || clazz == null || sql == null) {
+            return query(clazz, sql, arguments);
+        }
+        return cache.get(QueryKey.forRow(sql, arguments, clazz), policy, () -> query(clazz, sql, arguments), value -> 1);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided, serving the
+     * result from the query cache while the policy allows. The returned list is
+     * unmodifiable. The mapper is part of the cache key, so it should be reused
+     * across calls (for example a constant) to get hits.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results, one row at a time
+     * @param policy - how long the result may be cached and the tags that invalidate it
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper
+     */
+    public <T> List<T> queryForList(@NotNull String sql, @NotNull Object[] arguments, @NotNull ColumnMapper<T> mapper, @NotNull CachePolicy policy) {
+        Preconditions.checkNotNull(policy, "Null cache policy supplied");
+        QueryCache cache = queryCache;
+        if(cache == null || sql == null || mapper == null) {
+            return Collections.unmodifiableList(queryForList(sql, arguments, mapper));
+        }
+        return cache.get(
+            QueryKey.forList(sql, arguments, mapper),
+            policy,
+            () -> Collections.unmodifiableList(queryForList(sql, arguments, mapper)),
+            List::size
+        );
+    }
+
+    /**
+     * Query database using given SQL data access statement provided, serving the
+     * result from the query cache while the policy allows. The returned list is unmodifiable.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param policy - how long the result may be cached and the tags that invalidate it
+     * @param <T> - entity class
+     * @return rows of results mapped to the entity class
+     */
+    public <T> List<T> queryForList(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments, @NotNull CachePolicy policy) {
+        Preconditions.checkNotNull(policy, "Null cache policy supplied");
+        QueryCache cache = queryCache;
+        if(cache == null || clazz == null || sql == null) {
+            return Collections.unmodifiableList(queryForList(clazz, sql, arguments));
+        }
+        return cache.get(
+            QueryKey.forList(sql, arguments, clazz),
+            policy,
+            () -> Collections.unmodifiableList(queryForList(clazz, sql, arguments)),
+            List::size
+        );
+    }
+
+    /**
+     * Query database using given SQL data access statement provided. The mapper reads
+     * the first row directly from the result set without copying it into a map.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return single row of result extracted from mapper
+     */
+    public <T> Optional<T> queryRow(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.query(sql, arguments, (chunkSql, chunkArguments) -> queryRow(chunkSql, chunkArguments, mapper));
+        }
+        return queryExecutor.queryRow(true, getReadConnection(), sql, arguments, mapper);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided. The mapper reads
+     * each row directly from the result set without copying it into a map.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper
+     */
+    public <T> List<T> queryRows(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForList(sql, arguments, splitInLists, (chunkSql, chunkArguments) -> queryRows(chunkSql, chunkArguments, mapper));
+        }
+        return queryExecutor.queryRows(true, getReadConnection(), sql, arguments, mapper);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided. Rows are read lazily
+     * as the stream is consumed, so the stream must be closed to release its connection.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param <T> - entity class
+     * @return stream of results mapped to the entity class
+     */
+    public <T> Stream<T> queryForStream(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForStream(clazz, sql, arguments, QueryExecutor.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided. Rows are read lazily
+     * as the stream is consumed, so the stream must be closed to release its connection.
+     * Some drivers (such as PostgreSQL) only honour the fetch size inside a transaction.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param fetchSize - number of rows fetched from the database per round trip, 0 for driver default
+     * @param <T> - entity class
+     * @return stream of results mapped to the entity class
+     */
+    public <T> Stream<T> queryForStream(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments, int fetchSize) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForStream(
+                sql,
+                arguments,
+                splitInLists,
+                (chunkSql, chunkArguments) -> queryForStream(clazz, chunkSql, chunkArguments, fetchSize)
+            );
+        }
+        return queryExecutor.queryForStream(true, getReadConnection(), clazz, sql, arguments, fetchSize);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided. Rows are read lazily
+     * as the stream is consumed, so the stream must be closed to release its connection.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return stream of results extracted from mapper
+     */
+    public <T> Stream<T> queryForStream(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper) {
+        return queryForStream(sql, arguments, mapper, QueryExecutor.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided. Rows are read lazily
+     * as the stream is consumed, so the stream must be closed to release its connection.
+     * Some drivers (such as PostgreSQL) only honour the fetch size inside a transaction.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param fetchSize - number of rows fetched from the database per round trip, 0 for driver default
+     * @param <T> - entity class
+     * @return stream of results extracted from mapper
+     */
+    public <T> Stream<T> queryForStream(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper, int fetchSize) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForStream(
+                sql,
+                arguments,
+                splitInLists,
+                (chunkSql, chunkArguments) -> queryForStream(chunkSql, chunkArguments, mapper, fetchSize)
+            );
+        }
+        return queryExecutor.queryForStream(true, getReadConnection(), sql, arguments, mapper, fetchSize);
+    }
+
+    /**
+     * Query database in slices that run concurrently, each on its own connection,
+     * with no more slices running at once than the connection pool holds.
+     * Slices don't share a transaction, so rows changed while they run may be seen
+     * by some slices and not others.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param partitioning - describes how the query is split
+     * @param <T> - entity class
+     * @return rows of results mapped to the entity class, in slice order
+     */
+    public <T> List<T> queryForList(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments, @NotNull Partitioning partitioning) {
+        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        return submitPartitions(sql, arguments, partitioning,
+            (connection, slice) -> queryExecutor.queryForList(true, connection, clazz, slice.getSql(), slice.getArguments())).toList();
+    }
+
+    /**
+     * Query database in slices that run concurrently, each on its own connection,
+     * with no more slices running at once than the connection pool holds.
+     * Slices don't share a transaction, so rows changed while they run may be seen
+     * by some slices and not others.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param partitioning - describes how the query is split
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper, in slice order
+     */
+    public <T> List<T> queryRows(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper, @NotNull Partitioning partitioning) {
+        Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        return submitPartitions(sql, arguments, partitioning,
+            (connection, slice) -> queryExecutor.queryRows(true, connection, slice.getSql(), slice.getArguments(), mapper)).toList();
+    }
+
+    /**
+     * Query database in slices that run concurrently, each on its own connection,
+     * with no more slices running at once than the connection pool holds.
+     * Rows of a slice are streamed as soon as it completes, so slices come in no
+     * particular order. Closing the stream cancels slices that have not started.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param partitioning - describes how the query is split
+     * @param <T> - entity class
+     * @return stream of results mapped to the entity class
+     */
+    public <T> Stream<T> queryForStream(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments, @NotNull Partitioning partitioning) {
+        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        return submitPartitions(sql, arguments, partitioning,
+            (connection, slice) -> queryExecutor.queryForList(true, connection, clazz, slice.getSql(), slice.getArguments())).toStream();
+    }
+
+    /**
+     * Query database in slices that run concurrently, each on its own connection,
+     * with no more slices running at once than the connection pool holds.
+     * Rows of a slice are streamed as soon as it completes, so slices come in no
+     * particular order. Closing the stream cancels slices that have not started.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param partitioning - describes how the query is split
+     * @param <T> - entity class
+     * @return stream of results extracted from mapper
+     */
+    public <T> Stream<T> queryForStream(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper, @NotNull Partitioning partitioning) {
+        Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        return submitPartitions(sql, arguments, partitioning,
+            (connection, slice) -> queryExecutor.queryRows(true, connection, slice.getSql(), slice.getArguments(), mapper)).toStream();
+    }
+
+    private <T> PartitionScan<T> submitPartitions(
+            String sql,
+            Object[] arguments,
+            Partitioning partitioning,
+            BiFunction<Connection, Partitioning.Slice, List<T>> query) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+        Preconditions.checkNotNull(partitioning, "Null partitioning supplied");
+        // slices run on other threads, so the caller's read-your-writes window is checked here
+        Supplier<Connection> connection = router != null && router.isWithinWriteWindow()
+                ? () -> getConnection(config)
+                : this::getReadConnection;
+        return new PartitionScan<>(
+            partitioning.slices(sql, arguments),
+            slice -> query.apply(connection.get(), slice),
+            partitionParallelism(),
+            PARTITION_EXECUTOR
+        );
+    }
+
+    /** Slices in flight are capped at the smallest pool they may take connections from. */
+    private int partitionParallelism() {
+        int parallelism = config.getMaximumPoolSize();
+        if(router != null) {
+            for(DbConfig replica : router.getReplicas()) {
+                parallelism = Math.min(parallelism, replica.getMaximumPoolSize());
+            }
+        }
+        return parallelism;
+    }
+
+    /**
+     * Query database using given SQL data access statement provided and invoke
+     * action for each row as it is read. Connection is released once all rows are processed.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param action - a callback invoked with a view of each row
+     */
+    public void queryForEach(@NotNull String sql, @NotNull Object[] arguments, @NotNull Consumer<ResultRow> action) {
+        queryForEach(sql, arguments, action, QueryExecutor.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided and invoke
+     * action for each row as it is read. Connection is released once all rows are processed.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param action - a callback invoked with a view of each row
+     * @param fetchSize - number of rows fetched from the database per round trip, 0 for driver default
+     */
+    public void queryForEach(@NotNull String sql, @NotNull Object[] arguments, @NotNull Consumer<ResultRow> action, int fetchSize) {
+        queryExecutor.queryForEach(true, getReadConnection(), sql, arguments, action, fetchSize);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided and read the
+     * first column of every row into a long array without boxing.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return values of the first column of each row, 0 for null
+     */
+    public long[] queryForLongArray(@NotNull String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForLongArray(true, getReadConnection(), sql, arguments);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided and read the
+     * first column of every row into a int array without boxing.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return values of the first column of each row, 0 for null
+     */
+    public int[] queryForIntArray(@NotNull String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForIntArray(true, getReadConnection(), sql, arguments);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided and read the
+     * first column of every row into a double array without boxing.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return values of the first column of each row, 0 for null
+     */
+    public double[] queryForDoubleArray(@NotNull String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForDoubleArray(true, getReadConnection(), sql, arguments);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided and store the
+     * result column by column. Integer and floating point columns are kept in
+     * primitive arrays.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return result stored by column
+     */
+    public ColumnarResult queryForColumns(@NotNull String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForColumns(true, getReadConnection(), sql, arguments);
     }
 
     /**
@@ -104,7 +671,40 @@ public final class DatabaseHelper {
      * @return number of rows affected
      */
     public int executeUpdate(@NotNull String sql, @Nullable Object[] arguments) {
-        return updateExecutor.executeUpdate(true, getConnection(config), sql, arguments);
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.executeUpdate(sql, arguments, this::executeUpdate);
+        }
+        WriteCoalescer coalescer = writeCoalescer;
+        try {
+            if(coalescer == null) {
+                return updateExecutor.executeUpdate(true, getConnection(config), sql, arguments);
+            }
+            return coalescer.executeUpdate(
+                sql,
+                arguments,
+                row -> updateExecutor.executeUpdate(true, getConnection(config), sql, row),
+                rows -> updateExecutor.executeBatchUpdateInTransaction(true, getConnection(config), sql, rows)
+            );
+        } finally {
+            markWrite();
+        }
+    }
+
+    /**
+     * Issue a single SQL update operation (such as an insert, update or delete statement)
+     * and invalidate query cache results tagged with any of the supplied tags.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param invalidateTags - tags (usually the tables written) of cached results to invalidate
+     * @return number of rows affected
+     */
+    public int executeUpdate(@NotNull String sql, @Nullable Object[] arguments, @NotNull String... invalidateTags) {
+        try {
+            return executeUpdate(sql, arguments);
+        } finally {
+            invalidate(invalidateTags);
+        }
     }
 
     /**
@@ -116,17 +716,214 @@ public final class DatabaseHelper {
      * @return number of rows affected
      */
     public int[] executeBatchUpdate(@NotNull String sql, @NotNull List<Object[]> arguments) {
-        return updateExecutor.executeBatchUpdate(true, getConnection(config), sql, arguments);
+        try {
+            return updateExecutor.executeBatchUpdate(true, getConnection(config), sql, arguments);
+        } finally {
+            markWrite();
+        }
+    }
+
+    /**
+     * Execute a batch update operation (such as an insert, update or delete statement)
+     * and invalidate query cache results tagged with any of the supplied tags.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param invalidateTags - tags (usually the tables written) of cached results to invalidate
+     * @return number of rows affected
+     */
+    public int[] executeBatchUpdate(@NotNull String sql, @NotNull List<Object[]> arguments, @NotNull String... invalidateTags) {
+        try {
+            return executeBatchUpdate(sql, arguments);
+        } finally {
+            invalidate(invalidateTags);
+        }
+    }
+
+    /**
+     * Insert rows by rewriting a single row {@code INSERT ... VALUES (?, ?)} statement
+     * into multi-row {@code VALUES (?, ?), (?, ?), ...} statements of rowsPerStatement
+     * rows each, so drivers send far fewer statements than with a batch update.
+     * rowsPerStatement times the number of parameters per row must stay within the
+     * driver's bind parameter limit.
+     * @author Mario Dennis
+     * @param sql - single row INSERT ... VALUES (...) statement
+     * @param arguments - arguments to bind to the query, one array per row
+     * @param rowsPerStatement - number of rows inserted by each statement
+     * @return total number of rows reported affected by the driver, counting rows without a count as one
+     */
+    public long executeBatchInsert(@NotNull String sql, @NotNull List<Object[]> arguments, int rowsPerStatement) {
+        try {
+            return updateExecutor.executeBatchInsert(true, getConnection(config), sql, arguments, rowsPerStatement);
+        } finally {
+            markWrite();
+        }
+    }
+
+    /**
+     * Issue a single SQL update operation (usually an insert) prepared to return
+     * generated keys, so the keys are read in the same round trip.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return first generated key column of each inserted row
+     */
+    public long[] executeUpdateReturningKeys(@NotNull String sql, @Nullable Object[] arguments) {
+        try {
+            return updateExecutor.executeUpdateReturningKeys(true, getConnection(config), sql, arguments);
+        } finally {
+            markWrite();
+        }
+    }
+
+    /**
+     * Execute a batch update operation (usually an insert) prepared to return
+     * generated keys, so the keys are read in the same round trip.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, one array per row
+     * @return first generated key column of each inserted row, in row order
+     */
+    public long[] executeBatchUpdateReturningKeys(@NotNull String sql, @NotNull List<Object[]> arguments) {
+        try {
+            return updateExecutor.executeBatchUpdateReturningKeys(true, getConnection(config), sql, arguments);
+        } finally {
+            markWrite();
+        }
+    }
+
+    /**
+     * Insert entities in one batch and set the key generated for each on it.
+     * The rows are inserted in a transaction of their own, which is rolled back unless
+     * the driver returns exactly one key per row.
+     * @author Mario Dennis
+     * @param sql - the SQL insert statement
+     * @param entities - entities to insert
+     * @param binder - converts an entity to the statement's arguments
+     * @param keySetter - sets the generated key on an entity
+     * @param <T> - entity class
+     */
+    public <T> void executeBatchUpdateReturningKeys(
+            @NotNull String sql,
+            @NotNull List<T> entities,
+            @NotNull Function<T, Object[]> binder,
+            @NotNull ObjLongConsumer<T> keySetter) {
+        Preconditions.checkNotNull(keySetter, "Null keySetter supplied");
+        List<Object[]> arguments = UpdateExecutor.bindEntities(entities, binder);
+        // the key count is checked before commit, so a mismatch leaves no rows behind to duplicate on retry
+        long[] keys = inTransaction(transaction -> UpdateExecutor.checkGeneratedKeys(
+            transaction.executeBatchUpdateReturningKeys(sql, arguments), entities.size()
+        ));
+        UpdateExecutor.assignGeneratedKeys(entities, keys, keySetter);
+    }
+
+    /**
+     * Execute a batch update operation (such as an insert, update or delete statement)
+     * in chunks, flushing the batch every chunkSize rows. Rows are pulled from the iterator
+     * as they are bound, so large data sets (for example {@code stream.iterator()}) are
+     * loaded with bounded memory.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, one array per row
+     * @param chunkSize - number of rows sent to the database per batch
+     * @param commitPerChunk - commit after each chunk instead of relying on auto commit
+     * @return total number of rows reported affected by the driver, counting rows without a count as one
+     */
+    public long executeBatchUpdate(@NotNull String sql, @NotNull Iterator<Object[]> arguments, int chunkSize, boolean commitPerChunk) {
+        try {
+            return updateExecutor.executeBatchUpdate(true, getConnection(config), sql, arguments, chunkSize, commitPerChunk);
+        } finally {
+            markWrite();
+        }
     }
 
     /**
      * Get transaction instance used for executing transactional
-     * operations
+     * operations. Transactions always run on the primary; with a read-your-writes
+     * window the window is measured from when the transaction is committed or rolled back.
      * @author Mario Dennis
      * @return Transaction
      */
     public Transaction getTransaction() {
-        return new TransactionImpl(getConnection(config), updateExecutor, queryExecutor);
+        TransactionImpl transaction = new TransactionImpl(getConnection(config), updateExecutor, queryExecutor, metrics, TransactionOptions.DEFAULT, this::markWrite);
+        transaction.setInListSplitting(splitInLists);
+        return transaction;
+    }
+
+    /**
+     * Run work in a transaction that is committed when work returns and rolled back
+     * when it throws. The connection is returned to the pool either way. Serialization
+     * failures and deadlocks are retried up to 3 attempts.
+     * @author Mario Dennis
+     * @param work - operations to run, may be run more than once
+     * @param <R> - result type
+     * @return result of work
+     */
+    public <R> R inTransaction(@NotNull Function<Transaction, R> work) {
+        return inTransaction(TransactionOptions.DEFAULT, work);
+    }
+
+    /**
+     * Run work in a transaction that is committed when work returns and rolled back
+     * when it throws. The connection is returned to the pool either way. Serialization
+     * failures and deadlocks roll back the transaction and run work again after a random
+     * backoff, so work should not have side effects outside the database.
+     * @author Mario Dennis
+     * @param options - isolation level, read-only hint and retry settings
+     * @param work - operations to run, may be run more than once
+     * @param <R> - result type
+     * @return result of work
+     */
+    public <R> R inTransaction(@NotNull TransactionOptions options, @NotNull Function<Transaction, R> work) {
+        Preconditions.checkNotNull(options, "Null options supplied");
+        Preconditions.checkNotNull(work, "Null work supplied");
+        for(int attempt = 1; ; attempt++) {
+            TransactionImpl transaction = new TransactionImpl(getConnection(config), updateExecutor, queryExecutor, metrics, options, this::markWrite);
+            transaction.setInListSplitting(splitInLists);
+            try {
+                R result = work.apply(transaction);
+                transaction.commit();
+                return result;
+            } catch (RuntimeException e) {
+                rollback(transaction, e);
+                if(attempt >= options.getMaxAttempts() || !TransactionOptions.isRetryable(e)) {
+                    throw e;
+                }
+            } catch (Error e) {
+                rollback(transaction, e);
+                throw e;
+            }
+            Uninterruptibles.sleepUninterruptibly(options.backoff(attempt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void rollback(Transaction transaction, Throwable failure) {
+        try {
+            transaction.rollback();
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Run a block of operations on one pooled connection without starting a transaction,
+     * so each update commits on its own. Statements are prepared once and reused for the
+     * rest of the block, and the connection is returned to the pool when the block ends.
+     * Sessions run on the primary, like transactions.
+     * @author Mario Dennis
+     * @param work - operations to run, the session must not be used after it returns
+     * @param <R> - result type
+     * @return result of work
+     */
+    public <R> R withSession(@NotNull Function<Session, R> work) {
+        Preconditions.checkNotNull(work, "Null work supplied");
+        SessionImpl session = new SessionImpl(getConnection(config), updateExecutor, queryExecutor, metrics, this::markWrite);
+        session.setInListSplitting(splitInLists);
+        try {
+            return work.apply(session);
+        } finally {
+            session.close();
+        }
     }
 
     /**
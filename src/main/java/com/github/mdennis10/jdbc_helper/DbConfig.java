@@ -4,22 +4,79 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 public final class DbConfig {
+    protected static final int DEFAULT_MAXIMUM_POOL_SIZE = 30;
+    protected static final int DEFAULT_MINIMUM_IDLE = 5;
+    protected static final long DEFAULT_MAX_LIFETIME = MINUTES.toMillis(4);
+    protected static final long DEFAULT_IDLE_TIMEOUT = MINUTES.toMillis(4);
+    protected static final long DEFAULT_CONNECTION_TIMEOUT = SECONDS.toMillis(30);
     private final String user;
     private final String password;
     private final String url;
     private final String driverClassName;
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+    private final long maxLifetime;
+    private final long idleTimeout;
+    private final long connectionTimeout;
+    private final String connectionInitSql;
+    private final long leakDetectionThreshold;
+    private final Map<String, String> dataSourceProperties;
+    private final int hashCode;
 
     public DbConfig(String user, @Nullable String password, String url, String driverClassName) {
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(user), "user is null or empty");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(url), "jdbc url is null or empty");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(driverClassName), "driverClassName is null or empty");
-        this.user = user;
-        this.password = password;
-        this.url = url;
-        this.driverClassName = driverClassName;
+        this(new Builder(user, password, url, driverClassName));
+    }
+
+    private DbConfig(Builder builder) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(builder.user), "user is null or empty");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(builder.url), "jdbc url is null or empty");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(builder.driverClassName), "driverClassName is null or empty");
+        Preconditions.checkArgument(builder.maximumPoolSize > 0, "maximumPoolSize must be greater than zero");
+        Preconditions.checkArgument(builder.minimumIdle >= 0, "minimumIdle must not be negative");
+        Preconditions.checkArgument(builder.minimumIdle <= builder.maximumPoolSize, "minimumIdle must not exceed maximumPoolSize");
+        Preconditions.checkArgument(builder.maxLifetime >= 0, "maxLifetime must not be negative");
+        Preconditions.checkArgument(builder.idleTimeout >= 0, "idleTimeout must not be negative");
+        Preconditions.checkArgument(builder.connectionTimeout >= 0, "connectionTimeout must not be negative");
+        Preconditions.checkArgument(builder.leakDetectionThreshold >= 0, "leakDetectionThreshold must not be negative");
+        this.user = builder.user;
+        this.password = builder.password;
+        this.url = builder.url;
+        this.driverClassName = builder.driverClassName;
+        this.maximumPoolSize = builder.maximumPoolSize;
+        this.minimumIdle = builder.minimumIdle;
+        this.maxLifetime = builder.maxLifetime;
+        this.idleTimeout = builder.idleTimeout;
+        this.connectionTimeout = builder.connectionTimeout;
+        this.connectionInitSql = builder.connectionInitSql;
+        this.leakDetectionThreshold = builder.leakDetectionThreshold;
+        this.dataSourceProperties = Collections.unmodifiableMap(new LinkedHashMap<>(builder.dataSourceProperties));
+        this.hashCode = Objects.hash(
+            user, password, url, driverClassName, maximumPoolSize, minimumIdle, maxLifetime,
+            idleTimeout, connectionTimeout, connectionInitSql, leakDetectionThreshold, dataSourceProperties
+        );
+    }
+
+    /**
+     * Create builder for a config with pool settings other than the defaults.
+     * @author Mario Dennis
+     * @param user - database user
+     * @param password - database password
+     * @param url - jdbc url
+     * @param driverClassName - jdbc driver class name
+     * @return builder initialised with the default pool settings
+     */
+    public static Builder builder(String user, @Nullable String password, String url, String driverClassName) {
+        return new Builder(user, password, url, driverClassName);
     }
 
     public String getUser() {
@@ -38,19 +95,154 @@ public final class DbConfig {
         return driverClassName;
     }
 
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public long getMaxLifetime() {
+        return maxLifetime;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public String getConnectionInitSql() {
+        return connectionInitSql;
+    }
+
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    public Map<String, String> getDataSourceProperties() {
+        return dataSourceProperties;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DbConfig config = (DbConfig) o;
-        return getUser().equals(config.getUser()) &&
-                getPassword().equals(config.getPassword()) &&
+        return hashCode == config.hashCode &&
+                getUser().equals(config.getUser()) &&
+                Objects.equals(getPassword(), config.getPassword()) &&
                 getUrl().equals(config.getUrl()) &&
-                getDriverClassName().equals(config.getDriverClassName());
+                getDriverClassName().equals(config.getDriverClassName()) &&
+                maximumPoolSize == config.maximumPoolSize &&
+                minimumIdle == config.minimumIdle &&
+                maxLifetime == config.maxLifetime &&
+                idleTimeout == config.idleTimeout &&
+                connectionTimeout == config.connectionTimeout &&
+                Objects.equals(connectionInitSql, config.connectionInitSql) &&
+                leakDetectionThreshold == config.leakDetectionThreshold &&
+                dataSourceProperties.equals(config.dataSourceProperties);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getUser(), getPassword(), getUrl(), getDriverClassName());
+        return hashCode;
+    }
+
+    /**
+     * Builder for DbConfig. Each pool is created from the settings of the config
+     * it is looked up with, so configs differing in any setting get separate pools.
+     * Times are in milliseconds.
+     * @author Mario Dennis
+     */
+    public static final class Builder {
+        private final String user;
+        private final String password;
+        private final String url;
+        private final String driverClassName;
+        private int maximumPoolSize = DEFAULT_MAXIMUM_POOL_SIZE;
+        private int minimumIdle = DEFAULT_MINIMUM_IDLE;
+        private long maxLifetime = DEFAULT_MAX_LIFETIME;
+        private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private long connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+        private String connectionInitSql;
+        private long leakDetectionThreshold;
+        private final Map<String, String> dataSourceProperties = new LinkedHashMap<>();
+
+        private Builder(String user, String password, String url, String driverClassName) {
+            this.user = user;
+            this.password = password;
+            this.url = url;
+            this.driverClassName = driverClassName;
+        }
+
+        public Builder maximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+            return this;
+        }
+
+        public Builder minimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+            return this;
+        }
+
+        public Builder maxLifetime(long maxLifetime) {
+            this.maxLifetime = maxLifetime;
+            return this;
+        }
+
+        public Builder idleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder connectionTimeout(long connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        /**
+         * SQL executed on every new connection before it is added to the pool.
+         * @author Mario Dennis
+         * @param connectionInitSql - the SQL to execute, null for none
+         * @return this builder
+         */
+        public Builder connectionInitSql(@Nullable String connectionInitSql) {
+            this.connectionInitSql = connectionInitSql;
+            return this;
+        }
+
+        /**
+         * Time a connection can be out of the pool before a possible leak is logged.
+         * @author Mario Dennis
+         * @param leakDetectionThreshold - threshold in milliseconds, 0 to disable
+         * @return this builder
+         */
+        public Builder leakDetectionThreshold(long leakDetectionThreshold) {
+            this.leakDetectionThreshold = leakDetectionThreshold;
+            return this;
+        }
+
+        /**
+         * Property passed to the driver, for example to enable statement caching
+         * or server side prepared statements.
+         * @author Mario Dennis
+         * @param name - property name
+         * @param value - property value
+         * @return this builder
+         */
+        public Builder dataSourceProperty(@NotNull String name, @NotNull String value) {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(name), "Null or empty property name supplied");
+            Preconditions.checkNotNull(value, "Null property value supplied");
+            this.dataSourceProperties.put(name, value);
+            return this;
+        }
+
+        public DbConfig build() {
+            return new DbConfig(this);
+        }
     }
 }
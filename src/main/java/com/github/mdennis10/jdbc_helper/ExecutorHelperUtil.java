@@ -1,28 +1,102 @@
 package com.github.mdennis10.jdbc_helper;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.HashMap;
 import java.util.Map;
 
 public class ExecutorHelperUtil {
-    protected static void resolveParameters(PreparedStatement preparedStatement, Object[] parameters) throws SQLException {
-        for (int x = 0; x < parameters.length; x++) {
-            preparedStatement.setObject(x + 1, parameters[x]);
+    protected static void resolveParameters(PreparedStatement preparedStatement, String sql, Object[] parameters) throws SQLException {
+        ParameterBinder.bind(preparedStatement, sql, parameters, 0);
+    }
+
+    protected static void resolveParameters(PreparedStatement preparedStatement, String sql, Object[] parameters, int offset) throws SQLException {
+        ParameterBinder.bind(preparedStatement, sql, parameters, offset);
+    }
+
+    /**
+     * Close connection the executor was given to close when it rejects its arguments,
+     * so a failed precondition doesn't leak a pooled connection.
+     * @author Mario Dennis
+     * @param isAutoClose - whether the executor owns the connection
+     * @param connection - connection to close, may be null
+     * @param failure - the precondition failure
+     * @return failure, for the caller to rethrow
+     */
+    protected static RuntimeException closeOnFailure(boolean isAutoClose, Connection connection, RuntimeException failure) {
+        if(isAutoClose && connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException | RuntimeException e) {
+                failure.addSuppressed(e);
+            }
         }
+        return failure;
     }
 
-    protected static Map<String, Object> parseRow(ResultSet resultSet) throws SQLException {
-        Map<String, Object> columnMetaData = new HashMap<>();
-        int column = resultSet.getMetaData().getColumnCount();
-        for (int x = 1; x <= column;x++) {
-            String columnName = resultSet.getMetaData().getColumnName(x);
-            Object columnValue = resultSet.getObject(x);
+    protected static Map<String, Object> parseRow(ResultSet resultSet, String[] columnNames) throws SQLException {
+        Map<String, Object> columnMetaData = new HashMap<>(columnNames.length * 2);
+        for (int x = 1; x <= columnNames.length;x++) {
+            String columnName = columnNames[x - 1];
             if(columnName != null) {
-                columnMetaData.put(columnName.toUpperCase(), columnValue);
+                columnMetaData.put(columnName, resultSet.getObject(x));
             }
         }
         return columnMetaData;
     }
+
+    protected static String[] getColumnNames(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] columnNames = new String[metaData.getColumnCount()];
+        for (int x = 1; x <= columnNames.length; x++) {
+            String columnName = metaData.getColumnName(x);
+            columnNames[x - 1] = (columnName != null) ? columnName.toUpperCase() : null;
+        }
+        return columnNames;
+    }
+
+    protected static long startTimer(MetricsCollector metrics) {
+        return metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    protected static void recordPhase(MetricsCollector metrics, MetricsCollector.Phase phase, String sql, long startTime) {
+        if(metrics.isEnabled()) {
+            metrics.recordPhase(phase, sql, System.nanoTime() - startTime);
+        }
+    }
+
+    protected static PreparedStatement prepareStatement(MetricsCollector metrics, Connection connection, String sql) throws SQLException {
+        return prepareStatement(metrics, connection, sql, false);
+    }
+
+    protected static PreparedStatement prepareStatement(MetricsCollector metrics, Connection connection, String sql, boolean returnGeneratedKeys) throws SQLException {
+        long startTime = startTimer(metrics);
+        PreparedStatement stmt = returnGeneratedKeys
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        recordPhase(metrics, MetricsCollector.Phase.PREPARE, sql, startTime);
+        return stmt;
+    }
+
+    protected static PreparedStatement prepareStatement(MetricsCollector metrics, StatementCache statementCache, String sql) throws SQLException {
+        return prepareStatement(metrics, statementCache, sql, false);
+    }
+
+    protected static PreparedStatement prepareStatement(MetricsCollector metrics, StatementCache statementCache, String sql, boolean returnGeneratedKeys) throws SQLException {
+        long startTime = startTimer(metrics);
+        PreparedStatement stmt = statementCache.prepareStatement(sql, returnGeneratedKeys);
+        recordPhase(metrics, MetricsCollector.Phase.PREPARE, sql, startTime);
+        return stmt;
+    }
+
+    protected static ResultSet executeQuery(MetricsCollector metrics, PreparedStatement stmt, String sql) throws SQLException {
+        long startTime = startTimer(metrics);
+        ResultSet resultSet = stmt.executeQuery();
+        recordPhase(metrics, MetricsCollector.Phase.EXECUTE, sql, startTime);
+        return resultSet;
+    }
 }
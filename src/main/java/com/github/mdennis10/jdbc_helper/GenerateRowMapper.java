@@ -0,0 +1,21 @@
+package com.github.mdennis10.jdbc_helper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity class for which the jdbc-helper-processor annotation processor
+ * generates a {@link RowMapper} named {@code <Entity>_RowMapper} in the same package.
+ * Queries mapping to the class use the generated mapper instead of reflection when it
+ * is on the classpath. Columns are matched to field names case insensitively and
+ * assigned through the field's setter, or directly when the field is not private.
+ * @author Mario Dennis
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateRowMapper {
+}
@@ -0,0 +1,53 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+
+import javax.validation.constraints.NotNull;
+import java.util.Optional;
+
+/**
+ * Lookup of row mappers generated for classes annotated with {@link GenerateRowMapper}.
+ * Each class is looked up once; classes without a generated mapper fall back to
+ * {@link ReflectiveTypeResolver}.
+ * @author Mario Dennis
+ */
+final class GeneratedRowMappers {
+    protected static final String MAPPER_SUFFIX = "_RowMapper";
+    private static final ClassValue<Optional<RowMapper<?>>> mappers = new ClassValue<Optional<RowMapper<?>>>() {
+        @Override
+        protected Optional<RowMapper<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(loadMapper(type));
+        }
+    };
+
+    private GeneratedRowMappers() {}
+
+    /**
+     * Get generated row mapper for entity class.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param <T> - entity class
+     * @return generated mapper, or null when the class has none
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> RowMapper<T> find(@NotNull Class<T> clazz) {
+        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        return (RowMapper<T>) mappers.get(clazz).orElse(null);
+    }
+
+    private static RowMapper<?> loadMapper(Class<?> type) {
+        if(!type.isAnnotationPresent(GenerateRowMapper.class)) {
+            return null;
+        }
+        try {
+            Class<?> mapperClass = Class.forName(type.getName() + MAPPER_SUFFIX, true, type.getClassLoader());
+            if(!RowMapper.class.isAssignableFrom(mapperClass)) {
+                return null;
+            }
+            return (RowMapper<?>) mapperClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // processor was not run for this class, reflection is used instead
+            return null;
+        }
+    }
+}
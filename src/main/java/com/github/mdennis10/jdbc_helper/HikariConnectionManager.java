@@ -9,31 +9,31 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
-import static java.util.concurrent.TimeUnit.MINUTES;
-
 public final class HikariConnectionManager implements ConnectionManager {
     private static final ConcurrentMap<DbConfig, HikariDataSource> dataSources = new ConcurrentHashMap<>();
     private static final HikariConnectionManager INSTANCE = new HikariConnectionManager();
-    private static final long MAX_LIFE_TIME = MINUTES.toMillis(4);
-    private static final int MIN_IDLE = 5;
-    private static final long IDLE_TIMEOUT = MINUTES.toMillis(4);
-    private static final int MAX_POOL_SIZE = 30;
     private HikariConnectionManager() { }
 
     public static HikariConnectionManager getInstance() {
         return INSTANCE;
     }
 
-    private static HikariDataSource createDataSource(DbConfig config) {
+    protected static HikariDataSource createDataSource(DbConfig config) {
         HikariConfig hikariConfig = new HikariConfig();
         hikariConfig.setJdbcUrl(config.getUrl());
         hikariConfig.setUsername(config.getUser());
         hikariConfig.setPassword(config.getPassword());
         hikariConfig.setDriverClassName(config.getDriverClassName());
-        hikariConfig.setMaxLifetime(MAX_LIFE_TIME);
-        hikariConfig.setIdleTimeout(IDLE_TIMEOUT);
-        hikariConfig.setMaximumPoolSize(MAX_POOL_SIZE);
-        hikariConfig.setMinimumIdle(MIN_IDLE);
+        hikariConfig.setMaxLifetime(config.getMaxLifetime());
+        hikariConfig.setIdleTimeout(config.getIdleTimeout());
+        hikariConfig.setMaximumPoolSize(config.getMaximumPoolSize());
+        hikariConfig.setMinimumIdle(config.getMinimumIdle());
+        hikariConfig.setConnectionTimeout(config.getConnectionTimeout());
+        hikariConfig.setLeakDetectionThreshold(config.getLeakDetectionThreshold());
+        if(config.getConnectionInitSql() != null) {
+            hikariConfig.setConnectionInitSql(config.getConnectionInitSql());
+        }
+        config.getDataSourceProperties().forEach(hikariConfig::addDataSourceProperty);
         return new HikariDataSource(hikariConfig);
     }
 
@@ -41,15 +41,24 @@ public final class HikariConnectionManager implements ConnectionManager {
         return dataSources.values().stream().collect(Collectors.toList());
     }
 
+    /**
+     * Get pooled dataSource for config, creating it on first use. Lookups of an
+     * open pool are a single lock free read; a pool is only created (or a closed
+     * pool replaced) while holding the map entry, so concurrent callers never
+     * build duplicate pools for the same config.
+     * @author Mario Dennis
+     * @param config - database configuration
+     * @return dataSource for the config
+     */
     @Override
     public HikariDataSource getDataSource(DbConfig config) {
-        if(!dataSources.containsKey(config)) {
-            dataSources.putIfAbsent(config, createDataSource(config));
-        } else if (dataSources.get(config).isClosed()) {
-            dataSources.remove(config);
-            return getDataSource(config);
+        HikariDataSource dataSource = dataSources.get(config);
+        if(dataSource != null && !dataSource.isClosed()) {
+            return dataSource;
         }
-        return dataSources.get(config);
+        return dataSources.compute(config, (key, current) ->
+            (current == null || current.isClosed()) ? createDataSource(key) : current
+        );
     }
 
     @Override
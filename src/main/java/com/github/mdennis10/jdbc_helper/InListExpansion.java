@@ -0,0 +1,263 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Expands {@link Collection} arguments into one parameter per element, so a single
+ * {@code ?} can be bound to a list in {@code IN (?)}. Lists are padded to the next
+ * power of two by repeating their last element, which keeps the number of distinct
+ * statement shapes (and so prepared statements on the server) small.
+ * <p>
+ * Collections are limited to {@link #MAX_LIST_SIZE} elements. When splitting is enabled,
+ * list and stream queries may have one larger collection: its distinct elements are split
+ * into lists of at most that size, one execution per list, and the rows are concatenated.
+ * That is only correct for a plain {@code IN} filter. The executions don't share a
+ * transaction, and ordering, grouping and limits only apply within each execution.
+ * Updates and single row queries are never split.
+ * @author Mario Dennis
+ */
+final class InListExpansion {
+    protected static final int MAX_LIST_SIZE = 1000;
+    private static final int MAX_CACHED_STATEMENTS = 512;
+    private static final Cache<String, int[]> PLACEHOLDERS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_STATEMENTS)
+            .build();
+
+    private InListExpansion() {
+    }
+
+    /**
+     * Check whether any argument is a collection that needs expanding.
+     * @author Mario Dennis
+     * @param arguments - arguments of the statement
+     * @return true if an argument is a collection
+     */
+    protected static boolean hasCollection(Object[] arguments) {
+        if(arguments == null) {
+            return false;
+        }
+        for(Object argument : arguments) {
+            if(argument instanceof Collection) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Query each expanded statement and concatenate the rows in order.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, including collections
+     * @param split - whether a collection over the limit is split into several executions
+     * @param query - runs one expanded statement
+     * @param <T> - entity class
+     * @return rows of all executions
+     */
+    protected static <T> List<T> queryForList(String sql, Object[] arguments, boolean split, BiFunction<String, Object[], List<T>> query) {
+        List<Chunk> chunks = expand(sql, arguments, split);
+        if(chunks.size() == 1) {
+            return query.apply(chunks.get(0).getSql(), chunks.get(0).getArguments());
+        }
+        List<T> results = new ArrayList<>();
+        for(Chunk chunk : chunks) {
+            results.addAll(query.apply(chunk.getSql(), chunk.getArguments()));
+        }
+        return results;
+    }
+
+    /**
+     * Query expanded statement for a single row. Collections over the limit are rejected.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, including collections
+     * @param query - runs the expanded statement
+     * @param <T> - entity class
+     * @return single row of result
+     */
+    protected static <T> Optional<T> query(String sql, Object[] arguments, BiFunction<String, Object[], Optional<T>> query) {
+        Chunk chunk = expand(sql, arguments, false).get(0);
+        return query.apply(chunk.getSql(), chunk.getArguments());
+    }
+
+    /**
+     * Stream expanded statements one after another. Each statement is only executed
+     * once the rows of the previous one have been consumed.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, including collections
+     * @param split - whether a collection over the limit is split into several executions
+     * @param query - runs one expanded statement
+     * @param <T> - entity class
+     * @return stream of rows of all executions
+     */
+    protected static <T> Stream<T> queryForStream(String sql, Object[] arguments, boolean split, BiFunction<String, Object[], Stream<T>> query) {
+        List<Chunk> chunks = expand(sql, arguments, split);
+        if(chunks.size() == 1) {
+            return query.apply(chunks.get(0).getSql(), chunks.get(0).getArguments());
+        }
+        return chunks.stream().flatMap(chunk -> query.apply(chunk.getSql(), chunk.getArguments()));
+    }
+
+    /**
+     * Execute expanded update. Collections over the limit are rejected, since running
+     * an update in parts (for example with {@code NOT IN}) can change other rows.
+     * @author Mario Dennis
+     * @param sql - the SQL statement to execute
+     * @param arguments - arguments to bind to the statement, including collections
+     * @param update - runs the expanded statement
+     * @return number of rows affected
+     */
+    protected static int executeUpdate(String sql, Object[] arguments, BiFunction<String, Object[], Integer> update) {
+        Chunk chunk = expand(sql, arguments, false).get(0);
+        return update.apply(chunk.getSql(), chunk.getArguments());
+    }
+
+    /**
+     * Expand collection arguments of statement.
+     * @author Mario Dennis
+     * @param sql - the SQL statement, with one {@code ?} per argument
+     * @param arguments - arguments of the statement, including collections
+     * @param split - whether a collection over the limit is split into several executions
+     * @return one expanded statement per execution
+     * @throws IllegalArgumentException if a collection is empty or too large, or the arguments don't match the SQL
+     */
+    protected static List<Chunk> expand(String sql, Object[] arguments, boolean split) {
+        int[] placeholders = placeholders(sql);
+        Preconditions.checkArgument(
+            placeholders.length == arguments.length,
+            "sql has %s parameters but %s arguments supplied",
+            placeholders.length,
+            arguments.length
+        );
+        int splitIndex = -1;
+        for(int x = 0; x < arguments.length; x++) {
+            if(arguments[x] instanceof Collection) {
+                int size = ((Collection<?>) arguments[x]).size();
+                Preconditions.checkArgument(size > 0, "Empty collection supplied for parameter %s", x + 1);
+                if(size > MAX_LIST_SIZE) {
+                    Preconditions.checkArgument(split, "Collection supplied for parameter %s has more than %s elements", x + 1, MAX_LIST_SIZE);
+                    Preconditions.checkArgument(splitIndex < 0, "Only one collection may have more than %s elements", MAX_LIST_SIZE);
+                    splitIndex = x;
+                }
+            }
+        }
+        if(splitIndex < 0) {
+            return Collections.singletonList(chunk(sql, placeholders, arguments));
+        }
+        List<?> values = new ArrayList<>(new LinkedHashSet<>((Collection<?>) arguments[splitIndex]));
+        List<Chunk> chunks = new ArrayList<>((values.size() + MAX_LIST_SIZE - 1) / MAX_LIST_SIZE);
+        for(int from = 0; from < values.size(); from += MAX_LIST_SIZE) {
+            Object[] chunkArguments = arguments.clone();
+            chunkArguments[splitIndex] = values.subList(from, Math.min(from + MAX_LIST_SIZE, values.size()));
+            chunks.add(chunk(sql, placeholders, chunkArguments));
+        }
+        return chunks;
+    }
+
+    private static Chunk chunk(String sql, int[] placeholders, Object[] arguments) {
+        int count = 0;
+        for(Object argument : arguments) {
+            count += (argument instanceof Collection) ? bucket(((Collection<?>) argument).size()) : 1;
+        }
+        Object[] expanded = new Object[count];
+        StringBuilder builder = new StringBuilder(sql.length() + count * 3);
+        int previous = 0;
+        int index = 0;
+        for(int x = 0; x < placeholders.length; x++) {
+            builder.append(sql, previous, placeholders[x]).append('?');
+            previous = placeholders[x] + 1;
+            if(!(arguments[x] instanceof Collection)) {
+                expanded[index++] = arguments[x];
+                continue;
+            }
+            Collection<?> values = (Collection<?>) arguments[x];
+            Object last = null;
+            int added = 0;
+            for(Object value : values) {
+                if(added > 0) {
+                    builder.append(", ?");
+                }
+                expanded[index++] = value;
+                last = value;
+                added++;
+            }
+            for(int bucket = bucket(values.size()); added < bucket; added++) {
+                builder.append(", ?");
+                expanded[index++] = last;
+            }
+        }
+        builder.append(sql, previous, sql.length());
+        return new Chunk(builder.toString(), expanded);
+    }
+
+    private static int bucket(int size) {
+        return (size <= 1) ? size : Math.min(Integer.highestOneBit(size - 1) << 1, MAX_LIST_SIZE);
+    }
+
+    private static int[] placeholders(String sql) {
+        int[] placeholders = PLACEHOLDERS.getIfPresent(sql);
+        if(placeholders == null) {
+            placeholders = findPlaceholders(sql);
+            PLACEHOLDERS.put(sql, placeholders);
+        }
+        return placeholders;
+    }
+
+    private static int[] findPlaceholders(String sql) {
+        List<Integer> offsets = new ArrayList<>();
+        int length = sql.length();
+        int x = 0;
+        while(x < length) {
+            char c = sql.charAt(x);
+            int end = x + 1;
+            if(c == '\'' || c == '"' || c == '`') {
+                end = sql.indexOf(c, x + 1);
+                end = (end < 0) ? length : end + 1;
+            } else if(c == '-' && sql.startsWith("--", x)) {
+                end = sql.indexOf('\n', x);
+                end = (end < 0) ? length : end;
+            } else if(c == '/' && sql.startsWith("/*", x)) {
+                end = sql.indexOf("*/", x + 2);
+                end = (end < 0) ? length : end + 2;
+            } else if(c == '?') {
+                offsets.add(x);
+            }
+            x = end;
+        }
+        int[] placeholders = new int[offsets.size()];
+        for(int y = 0; y < placeholders.length; y++) {
+            placeholders[y] = offsets.get(y);
+        }
+        return placeholders;
+    }
+
+    protected static final class Chunk {
+        private final String sql;
+        private final Object[] arguments;
+
+        private Chunk(String sql, Object[] arguments) {
+            this.sql = sql;
+            this.arguments = arguments;
+        }
+
+        protected String getSql() {
+            return sql;
+        }
+
+        protected Object[] getArguments() {
+            return arguments;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Metrics collector that keeps latency histograms, row counts and batch sizes
+ * in memory, grouped by SQL fingerprint. Literals are replaced with {@code ?}
+ * in the fingerprint so statements that differ only by inlined values share statistics.
+ * Histograms are log-linear with a relative error of at most 12.5%.
+ * @author Mario Dennis
+ */
+public final class InMemoryMetricsCollector implements MetricsCollector {
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+    private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SqlMetrics> sqlMetrics = new ConcurrentHashMap<>();
+    private final Histogram connectionWait = new Histogram();
+    private volatile boolean enabled = true;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void recordConnectionWait(long nanos) {
+        connectionWait.record(nanos);
+    }
+
+    @Override
+    public void recordPhase(Phase phase, String sql, long nanos) {
+        getSqlMetrics(sql, phase).latency(phase).record(nanos);
+    }
+
+    @Override
+    public void recordRows(String sql, long rows) {
+        getSqlMetrics(sql, null).rows.add(rows);
+    }
+
+    @Override
+    public void recordBatchSize(String sql, int batchSize) {
+        getSqlMetrics(sql, null).batchSizes.record(batchSize);
+    }
+
+    public HistogramSnapshot getConnectionWait() {
+        return connectionWait.snapshot();
+    }
+
+    /**
+     * Get statistics recorded so far, keyed by SQL fingerprint. Commits and
+     * rollbacks are keyed by the phase name.
+     * @author Mario Dennis
+     * @return statistics for each fingerprint
+     */
+    public Map<String, SqlStatistics> getStatistics() {
+        Map<String, SqlStatistics> statistics = new HashMap<>();
+        for(Map.Entry<String, SqlMetrics> entry : sqlMetrics.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Get statistics of the statements with the highest latency in a phase.
+     * @author Mario Dennis
+     * @param phase - phase latencies are compared for
+     * @param percentile - percentile compared, between 0 (exclusive) and 100
+     * @param limit - maximum number of statements returned
+     * @return statistics ordered from slowest to fastest
+     */
+    public List<SqlStatistics> getSlowest(@NotNull Phase phase, double percentile, int limit) {
+        Preconditions.checkNotNull(phase, "Null phase supplied");
+        Preconditions.checkArgument(percentile > 0 && percentile <= 100, "percentile must be greater than 0 and at most 100");
+        Preconditions.checkArgument(limit >= 0, "Negative limit supplied");
+        List<SqlStatistics> result = new ArrayList<>();
+        for(SqlStatistics statistics : getStatistics().values()) {
+            if(statistics.getLatency(phase).getCount() > 0) {
+                result.add(statistics);
+            }
+        }
+        result.sort(Comparator.comparingLong((SqlStatistics x) -> x.getLatency(phase).getPercentile(percentile)).reversed());
+        return (result.size() > limit) ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public void reset() {
+        sqlMetrics.clear();
+        connectionWait.reset();
+    }
+
+    private SqlMetrics getSqlMetrics(String sql, Phase phase) {
+        String key = (sql == null) ? String.valueOf(phase) : fingerprint(sql);
+        SqlMetrics metrics = sqlMetrics.get(key);
+        return (metrics != null) ? metrics : sqlMetrics.computeIfAbsent(key, x -> new SqlMetrics());
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if(fingerprint == null) {
+            fingerprint = fingerprintOf(sql);
+            if(fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Normalize SQL so that statements differing only by literal values, whitespace
+     * or the length of a value list produce the same fingerprint.
+     * @author Mario Dennis
+     * @param sql - the SQL statement
+     * @return fingerprint of the statement
+     */
+    protected static String fingerprintOf(@NotNull String sql) {
+        Preconditions.checkNotNull(sql, "Null sql argument supplied");
+        StringBuilder builder = new StringBuilder(sql.length());
+        int x = 0;
+        while(x < sql.length()) {
+            char c = sql.charAt(x);
+            if(Character.isWhitespace(c)) {
+                while(x < sql.length() && Character.isWhitespace(sql.charAt(x))) {
+                    x++;
+                }
+                builder.append(' ');
+            } else if(c == '\'') {
+                x++;
+                while(x < sql.length()) {
+                    if(sql.charAt(x) == '\'' && (x + 1 >= sql.length() || sql.charAt(x + 1) != '\'')) {
+                        break;
+                    }
+                    x += (sql.charAt(x) == '\'') ? 2 : 1;
+                }
+                x++;
+                builder.append('?');
+            } else if(Character.isDigit(c) && !isIdentifierPart(builder)) {
+                while(x < sql.length() && (Character.isDigit(sql.charAt(x)) || sql.charAt(x) == '.')) {
+                    x++;
+                }
+                builder.append('?');
+            } else {
+                builder.append(c);
+                x++;
+            }
+        }
+        return VALUE_LIST.matcher(builder.toString().trim()).replaceAll("(?+)");
+    }
+
+    private static boolean isIdentifierPart(StringBuilder builder) {
+        if(builder.length() == 0) {
+            return false;
+        }
+        char previous = builder.charAt(builder.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    private static final class SqlMetrics {
+        private final AtomicReferenceArray<Histogram> latencies = new AtomicReferenceArray<>(Phase.values().length);
+        private final LongAdder rows = new LongAdder();
+        private final Histogram batchSizes = new Histogram();
+
+        private Histogram latency(Phase phase) {
+            Histogram histogram = latencies.get(phase.ordinal());
+            if(histogram == null) {
+                latencies.compareAndSet(phase.ordinal(), null, new Histogram());
+                histogram = latencies.get(phase.ordinal());
+            }
+            return histogram;
+        }
+
+        private SqlStatistics snapshot(String fingerprint) {
+            Map<Phase, HistogramSnapshot> snapshots = new EnumMap<>(Phase.class);
+            for(Phase phase : Phase.values()) {
+                Histogram histogram = latencies.get(phase.ordinal());
+                if(histogram != null) {
+                    snapshots.put(phase, histogram.snapshot());
+                }
+            }
+            return new SqlStatistics(fingerprint, snapshots, rows.sum(), batchSizes.snapshot());
+        }
+    }
+
+    public static final class SqlStatistics {
+        private final String fingerprint;
+        private final Map<Phase, HistogramSnapshot> latencies;
+        private final long rows;
+        private final HistogramSnapshot batchSizes;
+
+        private SqlStatistics(String fingerprint, Map<Phase, HistogramSnapshot> latencies, long rows, HistogramSnapshot batchSizes) {
+            this.fingerprint = fingerprint;
+            this.latencies = Collections.unmodifiableMap(latencies);
+            this.rows = rows;
+            this.batchSizes = batchSizes;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Get latency distribution, in nanoseconds, of a phase.
+         * @author Mario Dennis
+         * @param phase - phase of the call
+         * @return latency snapshot, empty when the phase was never recorded
+         */
+        public HistogramSnapshot getLatency(@NotNull Phase phase) {
+            HistogramSnapshot snapshot = latencies.get(phase);
+            return (snapshot != null) ? snapshot : HistogramSnapshot.EMPTY;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public HistogramSnapshot getBatchSizes() {
+            return batchSizes;
+        }
+
+        @Override
+        public String toString() {
+            return "SqlStatistics{" +
+                    "fingerprint='" + fingerprint + '\'' +
+                    ", latencies=" + latencies +
+                    ", rows=" + rows +
+                    ", batchSizes=" + batchSizes +
+                    '}';
+        }
+    }
+
+    public static final class HistogramSnapshot {
+        private static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[Histogram.BUCKET_COUNT], 0, 0, 0);
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private HistogramSnapshot(long[] buckets, long count, long sum, long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return (count == 0) ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Get value at a percentile. The value returned is the upper bound of the
+         * histogram bucket the percentile falls in, capped at the maximum recorded.
+         * @author Mario Dennis
+         * @param percentile - percentile between 0 (exclusive) and 100
+         * @return value at the percentile, 0 when nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            Preconditions.checkArgument(percentile > 0 && percentile <= 100, "percentile must be greater than 0 and at most 100");
+            if(count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100 * count);
+            long seen = 0;
+            for(int x = 0; x < buckets.length; x++) {
+                seen += buckets[x];
+                if(seen >= rank) {
+                    return Math.min(Histogram.upperBound(x), max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "HistogramSnapshot{" +
+                    "count=" + count +
+                    ", mean=" + getMean() +
+                    ", p50=" + getPercentile(50) +
+                    ", p99=" + getPercentile(99) +
+                    ", max=" + max +
+                    '}';
+        }
+    }
+
+    private static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void record(long value) {
+            long recorded = Math.max(0, value);
+            buckets.incrementAndGet(indexOf(recorded));
+            sum.add(recorded);
+            max.accumulate(recorded);
+        }
+
+        private static int indexOf(long value) {
+            if(value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBound(int index) {
+            if(index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+            int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+            long upper = ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+            return (upper < 0) ? Long.MAX_VALUE : upper;
+        }
+
+        private HistogramSnapshot snapshot() {
+            long[] counts = new long[BUCKET_COUNT];
+            long count = 0;
+            for(int x = 0; x < BUCKET_COUNT; x++) {
+                counts[x] = buckets.get(x);
+                count += counts[x];
+            }
+            return new HistogramSnapshot(counts, count, sum.sum(), max.get());
+        }
+
+        private void reset() {
+            for(int x = 0; x < BUCKET_COUNT; x++) {
+                buckets.set(x, 0);
+            }
+            sum.reset();
+            max.reset();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mdennis10.jdbc_helper;
+
+/**
+ * Receives timings and counts from each phase of a database call. Executors
+ * check {@link #isEnabled()} before reading the clock, so a disabled collector
+ * adds no timing overhead.
+ * @author Mario Dennis
+ */
+public interface MetricsCollector {
+    MetricsCollector NO_OP = new MetricsCollector() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordConnectionWait(long nanos) {}
+
+        @Override
+        public void recordPhase(Phase phase, String sql, long nanos) {}
+
+        @Override
+        public void recordRows(String sql, long rows) {}
+
+        @Override
+        public void recordBatchSize(String sql, int batchSize) {}
+    };
+
+    enum Phase {
+        PREPARE,
+        EXECUTE,
+        MAPPING,
+        COMMIT,
+        ROLLBACK
+    }
+
+    boolean isEnabled();
+
+    /**
+     * Record time spent waiting for a connection from the pool.
+     * @author Mario Dennis
+     * @param nanos - elapsed time in nanoseconds
+     */
+    void recordConnectionWait(long nanos);
+
+    /**
+     * Record time spent in a phase of a call. SQL is null for COMMIT and ROLLBACK.
+     * @author Mario Dennis
+     * @param phase - phase of the call
+     * @param sql - the SQL statement executed
+     * @param nanos - elapsed time in nanoseconds
+     */
+    void recordPhase(Phase phase, String sql, long nanos);
+
+    /**
+     * Record number of rows read by a query or affected by an update.
+     * @author Mario Dennis
+     * @param sql - the SQL statement executed
+     * @param rows - number of rows
+     */
+    void recordRows(String sql, long rows);
+
+    /**
+     * Record number of parameter sets sent in a single batch.
+     * @author Mario Dennis
+     * @param sql - the SQL statement executed
+     * @param batchSize - number of rows in the batch
+     */
+    void recordBatchSize(String sql, int batchSize);
+}
@@ -0,0 +1,166 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Single row {@code INSERT ... VALUES (?, ?)} statement rewritten to insert several
+ * rows at once, as in {@code INSERT ... VALUES (?, ?), (?, ?)}. Anything after the
+ * values tuple (for example an {@code ON CONFLICT} clause) is kept at the end of the
+ * rewritten statement. Parsed statements and their rewritten SQL for each width are cached.
+ * @author Mario Dennis
+ */
+final class MultiRowInsert {
+    private static final int MAX_CACHED_STATEMENTS = 256;
+    private static final Cache<String, MultiRowInsert> PARSED = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_STATEMENTS)
+            .build();
+    private static final String INVALID_SQL = "sql must be a single row INSERT ... VALUES (...) statement";
+    private final String prefix;
+    private final String tuple;
+    private final String suffix;
+    private final int parameterCount;
+    private final ConcurrentMap<Integer, String> statements = new ConcurrentHashMap<>();
+
+    private MultiRowInsert(String prefix, String tuple, String suffix, int parameterCount) {
+        this.prefix = prefix;
+        this.tuple = tuple;
+        this.suffix = suffix;
+        this.parameterCount = parameterCount;
+    }
+
+    protected static MultiRowInsert parse(String sql) {
+        try {
+            return PARSED.get(sql, () -> doParse(sql));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if(e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    protected int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Get statement inserting the given number of rows.
+     * @author Mario Dennis
+     * @param rows - number of value tuples in the statement
+     * @return rewritten SQL
+     */
+    protected String sql(int rows) {
+        if(rows == 1) {
+            return prefix + tuple + suffix;
+        }
+        return statements.computeIfAbsent(rows, width -> {
+            StringBuilder sql = new StringBuilder(prefix.length() + suffix.length() + width * (tuple.length() + 2));
+            sql.append(prefix);
+            for(int x = 0; x < width; x++) {
+                sql.append(x == 0 ? "" : ", ").append(tuple);
+            }
+            return sql.append(suffix).toString();
+        });
+    }
+
+    private static MultiRowInsert doParse(String sql) {
+        String trimmed = sql.trim();
+        if(!trimmed.regionMatches(true, 0, "INSERT", 0, 6)) {
+            throw new IllegalArgumentException(INVALID_SQL);
+        }
+        int values = indexOfKeyword(trimmed, "VALUES");
+        if(values < 0) {
+            throw new IllegalArgumentException(INVALID_SQL);
+        }
+        int tupleStart = skipWhitespace(trimmed, values + "VALUES".length());
+        if(tupleStart == trimmed.length() || trimmed.charAt(tupleStart) != '(') {
+            throw new IllegalArgumentException(INVALID_SQL);
+        }
+        int tupleEnd = indexOfClosingParenthesis(trimmed, tupleStart);
+        if(tupleEnd < 0) {
+            throw new IllegalArgumentException(INVALID_SQL);
+        }
+        int next = skipWhitespace(trimmed, tupleEnd + 1);
+        if(next < trimmed.length() && trimmed.charAt(next) == ',') {
+            throw new IllegalArgumentException(INVALID_SQL);
+        }
+        String tuple = trimmed.substring(tupleStart, tupleEnd + 1);
+        return new MultiRowInsert(
+            trimmed.substring(0, tupleStart),
+            tuple,
+            trimmed.substring(tupleEnd + 1),
+            countParameters(tuple)
+        );
+    }
+
+    /** Find keyword outside quoted text and identifiers. */
+    private static int indexOfKeyword(String sql, String keyword) {
+        char quote = 0;
+        for(int x = 0; x < sql.length(); x++) {
+            char c = sql.charAt(x);
+            if(quote != 0) {
+                if(c == quote) {
+                    quote = 0;
+                }
+            } else if(c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if(sql.regionMatches(true, x, keyword, 0, keyword.length())
+                    && (x == 0 || !Character.isJavaIdentifierPart(sql.charAt(x - 1)))
+                    && (x + keyword.length() == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(x + keyword.length())))) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfClosingParenthesis(String sql, int open) {
+        int depth = 0;
+        char quote = 0;
+        for(int x = open; x < sql.length(); x++) {
+            char c = sql.charAt(x);
+            if(quote != 0) {
+                if(c == quote) {
+                    quote = 0;
+                }
+            } else if(c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if(c == '(') {
+                depth++;
+            } else if(c == ')' && --depth == 0) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    private static int countParameters(String tuple) {
+        int count = 0;
+        char quote = 0;
+        for(int x = 0; x < tuple.length(); x++) {
+            char c = tuple.charAt(x);
+            if(quote != 0) {
+                if(c == quote) {
+                    quote = 0;
+                }
+            } else if(c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if(c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int skipWhitespace(String sql, int index) {
+        while(index < sql.length() && Character.isWhitespace(sql.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Variant of {@link DatabaseHelper} for SQL with named parameters such as
+ * {@code :customerId}. Values are taken from a {@code Map} keyed by parameter name or
+ * from the fields of a bean, matched to names ignoring case. Each distinct SQL is parsed
+ * once and the positional rewrite is reused for later calls.
+ * @author Mario Dennis
+ */
+public final class NamedParameterDatabaseHelper {
+    private final DatabaseHelper databaseHelper;
+
+    /**
+     * Create named parameter helper.
+     * @author Mario Dennis
+     * @param databaseHelper - helper used to execute operations
+     */
+    public NamedParameterDatabaseHelper(@NotNull DatabaseHelper databaseHelper) {
+        Preconditions.checkNotNull(databaseHelper, "Null databaseHelper supplied");
+        this.databaseHelper = databaseHelper;
+    }
+
+    private static NamedParameterSql parse(String sql, Object parameters) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(parameters, "Null parameters supplied");
+        return NamedParameterSql.parse(sql);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @param mapper - a callback that will extract results, one row at a time
+     * @param <T> - entity class
+     * @return single row of result extracted from mapper
+     */
+    public <T> Optional<T> query(@NotNull String sql, @NotNull Object parameters, @NotNull ColumnMapper<T> mapper) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.query(named.getSql(), named.bind(parameters), mapper);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @param <T> - entity class
+     * @return instance of entity class with result row mapped
+     */
+    public <T> Optional<T> query(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object parameters) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.query(clazz, named.getSql(), named.bind(parameters));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return single row of result extracted from mapper
+     */
+    public <T> Optional<T> queryRow(@NotNull String sql, @NotNull Object parameters, @NotNull RowMapper<T> mapper) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.queryRow(named.getSql(), named.bind(parameters), mapper);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @param mapper - a callback that will extract results, one row at a time
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper
+     */
+    public <T> List<T> queryForList(@NotNull String sql, @NotNull Object parameters, @NotNull ColumnMapper<T> mapper) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.queryForList(named.getSql(), named.bind(parameters), mapper);
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @param <T> - entity class
+     * @return rows of results mapped to the entity class
+     */
+    public <T> List<T> queryForList(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object parameters) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.queryForList(clazz, named.getSql(), named.bind(parameters));
+    }
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper
+     */
+    public <T> List<T> queryRows(@NotNull String sql, @NotNull Object parameters, @NotNull RowMapper<T> mapper) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.queryRows(named.getSql(), named.bind(parameters), mapper);
+    }
+
+    /**
+     * Issue a single SQL update operation (such as an insert, update or delete statement)
+     * using the supplied SQL statement with the supplied parameters.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param parameters - map of values by parameter name, or bean whose fields hold them
+     * @return number of rows affected
+     */
+    public int executeUpdate(@NotNull String sql, @NotNull Object parameters) {
+        NamedParameterSql named = parse(sql, parameters);
+        return databaseHelper.executeUpdate(named.getSql(), named.bind(parameters));
+    }
+
+    /**
+     * Execute a batch update operation (such as an insert, update or delete statement)
+     * using the supplied SQL statement with the batch of supplied parameters.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param parameters - maps of values by parameter name, or beans whose fields hold them
+     * @return number of rows affected
+     */
+    public int[] executeBatchUpdate(@NotNull String sql, @NotNull List<?> parameters) {
+        NamedParameterSql named = parse(sql, parameters);
+        List<Object[]> arguments = new ArrayList<>(parameters.size());
+        for(Object row : parameters) {
+            Preconditions.checkNotNull(row, "Null parameters supplied");
+            arguments.add(named.bind(row));
+        }
+        return databaseHelper.executeBatchUpdate(named.getSql(), arguments);
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * SQL with named parameters such as {@code :customerId}, rewritten to positional
+ * {@code ?} parameters. A name may be used more than once. Names inside quoted text,
+ * quoted identifiers and comments are ignored, as are {@code ::} casts. Parsed statements
+ * are cached, so each distinct SQL is only parsed once.
+ * @author Mario Dennis
+ */
+final class NamedParameterSql {
+    private static final int MAX_CACHED_STATEMENTS = 512;
+    private static final Cache<String, NamedParameterSql> PARSED = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_STATEMENTS)
+            .build();
+    private final String sql;
+    private final String[] names;
+    private final int[] positions;
+    private final ConcurrentMap<Class<?>, MethodHandle[]> getters = new ConcurrentHashMap<>();
+
+    private NamedParameterSql(String sql, String[] names, int[] positions) {
+        this.sql = sql;
+        this.names = names;
+        this.positions = positions;
+    }
+
+    protected static NamedParameterSql parse(String sql) {
+        try {
+            return PARSED.get(sql, () -> doParse(sql));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if(e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Get SQL with each named parameter replaced by {@code ?}.
+     * @author Mario Dennis
+     * @return positional SQL
+     */
+    protected String getSql() {
+        return sql;
+    }
+
+    /**
+     * Get distinct parameter names in order of first use.
+     * @author Mario Dennis
+     * @return parameter names
+     */
+    protected String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * Build positional arguments from parameter values.
+     * @author Mario Dennis
+     * @param parameters - map of values by parameter name, or bean whose fields hold the values
+     * @return arguments in positional order
+     * @throws IllegalArgumentException if a parameter has no value
+     */
+    protected Object[] bind(Object parameters) {
+        Object[] values = (parameters instanceof Map) ? valuesOf((Map<?, ?>) parameters) : valuesOf(parameters);
+        Object[] arguments = new Object[positions.length];
+        for(int x = 0; x < positions.length; x++) {
+            arguments[x] = values[positions[x]];
+        }
+        return arguments;
+    }
+
+    private Object[] valuesOf(Map<?, ?> parameters) {
+        Object[] values = new Object[names.length];
+        for(int x = 0; x < names.length; x++) {
+            Object value = parameters.get(names[x]);
+            if(value == null && !parameters.containsKey(names[x])) {
+                throw new IllegalArgumentException("No value supplied for parameter :" + names[x]);
+            }
+            values[x] = value;
+        }
+        return values;
+    }
+
+    private Object[] valuesOf(Object bean) {
+        MethodHandle[] handles = getters.computeIfAbsent(bean.getClass(), this::findGetters);
+        Object[] values = new Object[names.length];
+        for(int x = 0; x < names.length; x++) {
+            try {
+                values[x] = handles[x].invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException(e);
+            }
+        }
+        return values;
+    }
+
+    private MethodHandle[] findGetters(Class<?> clazz) {
+        Map<String, Field> fields = new HashMap<>();
+        for(Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            for(Field field : type.getDeclaredFields()) {
+                if(!Modifier.isStatic(field.getModifiers())) {
+                    fields.putIfAbsent(field.getName().toUpperCase(), field);
+                }
+            }
+        }
+        MethodType getterType = MethodType.methodType(Object.class, Object.class);
+        MethodHandle[] handles = new MethodHandle[names.length];
+        for(int x = 0; x < names.length; x++) {
+            Field field = fields.get(names[x].toUpperCase());
+            if(field == null) {
+                throw new IllegalArgumentException("No field of " + clazz.getName() + " matches parameter :" + names[x]);
+            }
+            try {
+                field.setAccessible(true);
+                handles[x] = MethodHandles.lookup().unreflectGetter(field).asType(getterType);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new UnsupportedOperationException("Unable to read " + field, e);
+            }
+        }
+        return handles;
+    }
+
+    private static NamedParameterSql doParse(String sql) {
+        StringBuilder positional = new StringBuilder(sql.length());
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        List<Integer> positions = new ArrayList<>();
+        int length = sql.length();
+        int x = 0;
+        while(x < length) {
+            char c = sql.charAt(x);
+            int end = x + 1;
+            if(c == '\'' || c == '"' || c == '`') {
+                end = sql.indexOf(c, x + 1);
+                end = (end < 0) ? length : end + 1;
+            } else if(c == '-' && sql.startsWith("--", x)) {
+                end = sql.indexOf('\n', x);
+                end = (end < 0) ? length : end;
+            } else if(c == '/' && sql.startsWith("/*", x)) {
+                end = sql.indexOf("*/", x + 2);
+                end = (end < 0) ? length : end + 2;
+            } else if(c == ':' && x + 1 < length && sql.charAt(x + 1) == ':') {
+                end = x + 2;
+            } else if(c == ':' && x + 1 < length && Character.isJavaIdentifierStart(sql.charAt(x + 1))) {
+                end = x + 2;
+                while(end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                String name = sql.substring(x + 1, end);
+                positions.add(indexes.computeIfAbsent(name, key -> indexes.size()));
+                positional.append('?');
+                x = end;
+                continue;
+            } else if(c == '?') {
+                throw new IllegalArgumentException("sql must not mix named and positional parameters");
+            }
+            positional.append(sql, x, end);
+            x = end;
+        }
+        int[] positionArray = new int[positions.size()];
+        for(int y = 0; y < positionArray.length; y++) {
+            positionArray[y] = positions.get(y);
+        }
+        return new NamedParameterSql(positional.toString(), indexes.keySet().toArray(new String[0]), positionArray);
+    }
+}
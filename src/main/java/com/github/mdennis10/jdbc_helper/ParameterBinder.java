@@ -0,0 +1,176 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Binds arguments with the typed setter of their class (setLong, setString,
+ * setTimestamp, ...) instead of setObject, so drivers don't have to work out the
+ * type of every parameter. The setter is looked up once per argument class. Classes
+ * without a typed setter are still bound with setObject.
+ * <p>
+ * Nulls are bound with setNull and the parameter's SQL type, read from the statement's
+ * parameter metadata the first time a null is bound for the SQL on a database. Types
+ * are cached per database URL and user, since the same SQL can resolve to different
+ * tables on another database or schema. Drivers that can't describe parameters get
+ * {@link Types#NULL}.
+ * @author Mario Dennis
+ */
+final class ParameterBinder {
+    private static final int MAX_CACHED_STATEMENTS = 1024;
+    private static final int[] UNKNOWN_TYPES = new int[0];
+    private static final Setter OBJECT_SETTER = PreparedStatement::setObject;
+    private static final ClassValue<Setter> SETTERS = new ClassValue<Setter>() {
+        @Override
+        protected Setter computeValue(Class<?> type) {
+            return setterFor(type);
+        }
+    };
+    private static final Cache<Key, int[]> NULL_TYPES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_STATEMENTS)
+            .build();
+
+    private ParameterBinder() {
+    }
+
+    /**
+     * Bind arguments to statement.
+     * @author Mario Dennis
+     * @param stmt - the statement to bind to
+     * @param sql - SQL of the statement, used to cache its parameter types
+     * @param parameters - arguments to bind
+     * @param offset - number of parameters before the first argument
+     * @throws SQLException if the driver rejects an argument
+     */
+    protected static void bind(PreparedStatement stmt, String sql, Object[] parameters, int offset) throws SQLException {
+        for(int x = 0; x < parameters.length; x++) {
+            Object value = parameters[x];
+            int index = offset + x + 1;
+            if(value == null) {
+                stmt.setNull(index, nullType(stmt, sql, index));
+            } else {
+                SETTERS.get(value.getClass()).set(stmt, index, value);
+            }
+        }
+    }
+
+    private static int nullType(PreparedStatement stmt, String sql, int index) {
+        Key key = Key.of(stmt, sql);
+        int[] types = key == null ? null : NULL_TYPES.getIfPresent(key);
+        if(types == null) {
+            types = describe(stmt);
+            if(key != null) {
+                NULL_TYPES.put(key, types);
+            }
+        }
+        return index <= types.length ? types[index - 1] : Types.NULL;
+    }
+
+    private static int[] describe(PreparedStatement stmt) {
+        try {
+            ParameterMetaData metaData = stmt.getParameterMetaData();
+            int[] types = new int[metaData.getParameterCount()];
+            Arrays.fill(types, Types.NULL);
+            for(int x = 0; x < types.length; x++) {
+                try {
+                    types[x] = metaData.getParameterType(x + 1);
+                } catch (SQLException ignored) {
+                    // type of this parameter is unknown, the driver has to infer it
+                }
+            }
+            return types;
+        } catch (SQLException | RuntimeException e) {
+            // driver can't describe parameters, so don't ask again for this SQL
+            return UNKNOWN_TYPES;
+        }
+    }
+
+    private static Setter setterFor(Class<?> type) {
+        if(type == String.class) {
+            return (stmt, index, value) -> stmt.setString(index, (String) value);
+        } else if(type == Long.class) {
+            return (stmt, index, value) -> stmt.setLong(index, (Long) value);
+        } else if(type == Integer.class) {
+            return (stmt, index, value) -> stmt.setInt(index, (Integer) value);
+        } else if(type == Short.class) {
+            return (stmt, index, value) -> stmt.setShort(index, (Short) value);
+        } else if(type == Byte.class) {
+            return (stmt, index, value) -> stmt.setByte(index, (Byte) value);
+        } else if(type == Double.class) {
+            return (stmt, index, value) -> stmt.setDouble(index, (Double) value);
+        } else if(type == Float.class) {
+            return (stmt, index, value) -> stmt.setFloat(index, (Float) value);
+        } else if(type == Boolean.class) {
+            return (stmt, index, value) -> stmt.setBoolean(index, (Boolean) value);
+        } else if(type == BigDecimal.class) {
+            return (stmt, index, value) -> stmt.setBigDecimal(index, (BigDecimal) value);
+        } else if(type == byte[].class) {
+            return (stmt, index, value) -> stmt.setBytes(index, (byte[]) value);
+        } else if(Timestamp.class.isAssignableFrom(type)) {
+            return (stmt, index, value) -> stmt.setTimestamp(index, (Timestamp) value);
+        } else if(java.sql.Date.class.isAssignableFrom(type)) {
+            return (stmt, index, value) -> stmt.setDate(index, (java.sql.Date) value);
+        } else if(Time.class.isAssignableFrom(type)) {
+            return (stmt, index, value) -> stmt.setTime(index, (Time) value);
+        }
+        return OBJECT_SETTER;
+    }
+
+    @FunctionalInterface
+    private interface Setter {
+        void set(PreparedStatement stmt, int index, Object value) throws SQLException;
+    }
+
+    private static final class Key {
+        private final String url;
+        private final String user;
+        private final String sql;
+        private final int hashCode;
+
+        private Key(String url, String user, String sql) {
+            this.url = url;
+            this.user = user;
+            this.sql = sql;
+            this.hashCode = Objects.hash(url, user, sql);
+        }
+
+        /** Key of sql on the database stmt runs on, null when the database can't be identified. */
+        @Nullable
+        private static Key of(PreparedStatement stmt, String sql) {
+            try {
+                DatabaseMetaData metaData = stmt.getConnection().getMetaData();
+                return new Key(metaData.getURL(), metaData.getUserName(), sql);
+            } catch (SQLException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return hashCode == key.hashCode &&
+                    sql.equals(key.sql) &&
+                    Objects.equals(url, key.url) &&
+                    Objects.equals(user, key.user);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Runs the slices of a partitioned query with at most parallelism of them in flight.
+ * A scan with more slices than the pool has connections queues the rest instead of
+ * leaving them to time out waiting for a connection, and other callers still get
+ * connections while it runs. Once a slice fails or the scan is cancelled, slices that
+ * have not started are skipped.
+ * @author Mario Dennis
+ */
+final class PartitionScan<T> {
+    private final List<Partitioning.Slice> slices;
+    private final Function<Partitioning.Slice, List<T>> query;
+    private final List<CompletableFuture<List<T>>> results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final CompletableFuture<Void> workers;
+
+    /**
+     * Start running slices.
+     * @author Mario Dennis
+     * @param slices - slices of the query
+     * @param query - runs one slice
+     * @param parallelism - maximum number of slices running at once
+     * @param executor - runs the slices
+     */
+    protected PartitionScan(List<Partitioning.Slice> slices, Function<Partitioning.Slice, List<T>> query, int parallelism, Executor executor) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be greater than zero");
+        this.slices = slices;
+        this.query = query;
+        this.results = new ArrayList<>(slices.size());
+        for(int x = 0; x < slices.size(); x++) {
+            results.add(new CompletableFuture<>());
+        }
+        CompletableFuture<?>[] started = new CompletableFuture<?>[Math.min(parallelism, slices.size())];
+        for(int x = 0; x < started.length; x++) {
+            started[x] = CompletableFuture.runAsync(this::work, executor);
+        }
+        this.workers = CompletableFuture.allOf(started);
+    }
+
+    /**
+     * Wait for every slice and merge their rows in slice order.
+     * @author Mario Dennis
+     * @return rows of every slice
+     */
+    protected List<T> toList() {
+        // wait for every worker so no slice is still holding a connection when a failure is thrown
+        workers.join();
+        List<T> rows = new ArrayList<>();
+        for(CompletableFuture<List<T>> result : results) {
+            rows.addAll(join(result));
+        }
+        return rows;
+    }
+
+    /**
+     * Stream rows of each slice as soon as it completes. Closing the stream cancels
+     * slices that have not started.
+     * @author Mario Dennis
+     * @return rows of every slice, in no particular order
+     */
+    protected Stream<T> toStream() {
+        BlockingQueue<CompletableFuture<List<T>>> completed = new LinkedBlockingQueue<>();
+        for(CompletableFuture<List<T>> result : results) {
+            result.whenComplete((rows, e) -> completed.add(result));
+        }
+        return IntStream.range(0, results.size())
+                .mapToObj(x -> join(Uninterruptibles.takeUninterruptibly(completed)))
+                .flatMap(List::stream)
+                .onClose(this::cancel);
+    }
+
+    /** Skip slices that have not started; slices already running complete and release their connection. */
+    protected void cancel() {
+        for(CompletableFuture<List<T>> result : results) {
+            result.cancel(false);
+        }
+    }
+
+    private void work() {
+        int index;
+        while((index = next.getAndIncrement()) < slices.size()) {
+            CompletableFuture<List<T>> result = results.get(index);
+            if(result.isDone()) {
+                continue;
+            }
+            try {
+                result.complete(query.apply(slices.get(index)));
+            } catch (RuntimeException | Error e) {
+                // the scan fails with e, so every slice not yet finished ends with it too
+                for(CompletableFuture<List<T>> pending : results) {
+                    pending.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new DatabaseHelperSQLException(e.getCause());
+        }
+    }
+}
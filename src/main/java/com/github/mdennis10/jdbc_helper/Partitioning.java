@@ -0,0 +1,163 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import javax.validation.constraints.NotNull;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes how a query is split into slices over a numeric column so the slices can
+ * run concurrently on separate connections. The range from lowerBound to upperBound
+ * (both inclusive) is divided into equally wide slices; rows whose column is outside
+ * the range or null are not returned.
+ * <p>
+ * Each slice restricts the query with {@code column >= ? AND column < ?}. The predicate
+ * replaces {@link #PLACEHOLDER} in the SQL, for example
+ * {@code SELECT * FROM Orders WHERE status = ? AND {partition}}, so the database can
+ * use an index on the column. Without the placeholder the query is wrapped in a derived
+ * table and filtered on the column it returns.
+ * @author Mario Dennis
+ */
+public final class Partitioning {
+    public static final String PLACEHOLDER = "{partition}";
+    private final String column;
+    private final long lowerBound;
+    private final long upperBound;
+    private final int partitions;
+
+    private Partitioning(String column, long lowerBound, long upperBound, int partitions) {
+        this.column = column;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.partitions = partitions;
+    }
+
+    /**
+     * Create partitioning dividing a column range into slices. The column is
+     * written into the SQL as is, so it must not come from user input.
+     * @author Mario Dennis
+     * @param column - numeric column the range applies to
+     * @param lowerBound - smallest column value returned
+     * @param upperBound - largest column value returned
+     * @param partitions - number of slices, usually no more than the connection pool size
+     * @return partitioning
+     */
+    public static Partitioning range(@NotNull String column, long lowerBound, long upperBound, int partitions) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(column), "Null or empty column supplied");
+        Preconditions.checkArgument(lowerBound <= upperBound, "lowerBound must not be greater than upperBound");
+        Preconditions.checkArgument(partitions > 0, "partitions must be greater than zero");
+        return new Partitioning(column, lowerBound, upperBound, partitions);
+    }
+
+    /**
+     * Split query into slices. Ranges narrower than the number of partitions
+     * produce one slice per value.
+     * @author Mario Dennis
+     * @param sql - query, with or without the placeholder
+     * @param arguments - arguments of the query
+     * @return slices in range order
+     */
+    protected List<Slice> slices(String sql, Object[] arguments) {
+        int placeholder = indexOfPlaceholder(sql);
+        String prefix;
+        String suffix;
+        int boundIndex;
+        if(placeholder < 0) {
+            prefix = "SELECT * FROM (" + sql + ") partition_slice WHERE ";
+            suffix = "";
+            boundIndex = arguments.length;
+        } else {
+            prefix = sql.substring(0, placeholder);
+            suffix = sql.substring(placeholder + PLACEHOLDER.length());
+            boundIndex = countParameters(prefix);
+            Preconditions.checkArgument(boundIndex <= arguments.length, "sql has more parameters than arguments supplied");
+        }
+        String sliceSql = prefix + "(" + column + " >= ? AND " + column + " < ?)" + suffix;
+        String lastSliceSql = prefix + "(" + column + " >= ? AND " + column + " <= ?)" + suffix;
+
+        BigInteger lower = BigInteger.valueOf(lowerBound);
+        BigInteger width = BigInteger.valueOf(upperBound).subtract(lower).add(BigInteger.ONE);
+        BigInteger count = BigInteger.valueOf(partitions);
+        List<Slice> slices = new ArrayList<>(partitions);
+        long start = lowerBound;
+        for(int x = 1; x < partitions; x++) {
+            long end = lower.add(width.multiply(BigInteger.valueOf(x)).divide(count)).longValueExact();
+            if(end > start) {
+                slices.add(new Slice(sliceSql, bind(arguments, boundIndex, start, end)));
+                start = end;
+            }
+        }
+        slices.add(new Slice(lastSliceSql, bind(arguments, boundIndex, start, upperBound)));
+        return slices;
+    }
+
+    private static Object[] bind(Object[] arguments, int index, long lower, long upper) {
+        Object[] bound = new Object[arguments.length + 2];
+        System.arraycopy(arguments, 0, bound, 0, index);
+        bound[index] = lower;
+        bound[index + 1] = upper;
+        System.arraycopy(arguments, index, bound, index + 2, arguments.length - index);
+        return bound;
+    }
+
+    /** Find placeholder outside quoted text and identifiers. */
+    private static int indexOfPlaceholder(String sql) {
+        char quote = 0;
+        for(int x = 0; x < sql.length(); x++) {
+            char c = sql.charAt(x);
+            if(quote != 0) {
+                if(c == quote) {
+                    quote = 0;
+                }
+            } else if(c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if(sql.startsWith(PLACEHOLDER, x)) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    private static int countParameters(String sql) {
+        int count = 0;
+        char quote = 0;
+        for(int x = 0; x < sql.length(); x++) {
+            char c = sql.charAt(x);
+            if(quote != 0) {
+                if(c == quote) {
+                    quote = 0;
+                }
+            } else if(c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if(c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Query of a single slice with the bounds of its range bound.
+     * @author Mario Dennis
+     */
+    protected static final class Slice {
+        private final String sql;
+        private final Object[] arguments;
+
+        private Slice(String sql, Object[] arguments) {
+            this.sql = sql;
+            this.arguments = arguments;
+        }
+
+        protected String getSql() {
+            return sql;
+        }
+
+        protected Object[] getArguments() {
+            return arguments;
+        }
+    }
+}
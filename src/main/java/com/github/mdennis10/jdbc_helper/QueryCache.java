@@ -0,0 +1,162 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Opt-in cache of query results used by {@link DatabaseHelper} for queries given a
+ * {@link CachePolicy}. Results are weighed by their row count and the least recently
+ * used results are evicted once the maximum weight is reached. Concurrent misses for
+ * the same key share a single query.
+ * <p>
+ * Invalidating a tag makes every result cached under it, or still being loaded
+ * under it, stale. Cached entities are shared between callers and must not be modified.
+ * @author Mario Dennis
+ */
+public final class QueryCache {
+    private final Cache<QueryKey, Entry> cache;
+    private final ConcurrentMap<String, AtomicLong> tagVersions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create query cache.
+     * @author Mario Dennis
+     * @param maximumWeight - maximum number of rows held across all cached results
+     */
+    public QueryCache(long maximumWeight) {
+        Preconditions.checkArgument(maximumWeight > 0, "maximumWeight must be greater than zero");
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((QueryKey key, Entry entry) -> entry.weight)
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <V> V get(QueryKey key, CachePolicy policy, Supplier<V> loader, ToIntFunction<V> weigher) {
+        while(true) {
+            boolean[] loaded = {false};
+            Entry entry;
+            try {
+                entry = cache.get(key, () -> {
+                    loaded[0] = true;
+                    // versions are read before querying so an update racing with the load makes the result stale
+                    long[] versions = versionsOf(policy.getTags());
+                    V value = loader.get();
+                    long expiresAt = System.nanoTime() + policy.getTtlNanos();
+                    return new Entry(value, Math.max(1, weigher.applyAsInt(value)), expiresAt, policy.getTags(), versions);
+                });
+            } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new DatabaseHelperSQLException(e.getCause());
+            }
+            boolean isValid = isValid(entry);
+            if(loaded[0]) {
+                misses.increment();
+                if(!isValid) {
+                    cache.asMap().remove(key, entry);
+                }
+                return (V) entry.value;
+            }
+            if(isValid) {
+                hits.increment();
+                return (V) entry.value;
+            }
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    /**
+     * Invalidate every result cached under any of the tags.
+     * @author Mario Dennis
+     * @param tags - tags to invalidate
+     */
+    public void invalidateTags(@NotNull String... tags) {
+        Preconditions.checkNotNull(tags, "Null tags supplied");
+        for(String tag : tags) {
+            tagVersions.computeIfAbsent(tag, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Remove all cached results.
+     * @author Mario Dennis
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Get cache statistics. A hit is a query answered from the cache and a miss
+     * a query that had to be executed, including results found expired or invalidated.
+     * @author Mario Dennis
+     * @return statistics since the cache was created
+     */
+    public CacheStats getStats() {
+        CacheStats stats = cache.stats();
+        return new CacheStats(
+            hits.sum(),
+            misses.sum(),
+            stats.loadSuccessCount(),
+            stats.loadExceptionCount(),
+            stats.totalLoadTime(),
+            stats.evictionCount()
+        );
+    }
+
+    private long[] versionsOf(String[] tags) {
+        long[] versions = new long[tags.length];
+        for(int x = 0; x < tags.length; x++) {
+            versions[x] = tagVersions.computeIfAbsent(tags[x], key -> new AtomicLong()).get();
+        }
+        return versions;
+    }
+
+    private boolean isValid(Entry entry) {
+        if(System.nanoTime() - entry.expiresAt >= 0) {
+            return false;
+        }
+        for(int x = 0; x < entry.tags.length; x++) {
+            if(tagVersions.get(entry.tags[x]).get() != entry.versions[x]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final int weight;
+        private final long expiresAt;
+        private final String[] tags;
+        private final long[] versions;
+
+        private Entry(Object value, int weight, long expiresAt, String[] tags, long[] versions) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+            this.tags = tags;
+            this.versions = versions;
+        }
+    }
+}
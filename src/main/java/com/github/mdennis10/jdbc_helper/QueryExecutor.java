@@ -10,30 +10,53 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class QueryExecutor {
+    protected static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int INITIAL_ARRAY_CAPACITY = 64;
+    private final MetricsCollector metrics;
+
+    public QueryExecutor() {
+        this(MetricsCollector.NO_OP);
+    }
+
+    protected QueryExecutor(@NotNull MetricsCollector metrics) {
+        Preconditions.checkNotNull(metrics, "Null metrics supplied");
+        this.metrics = metrics;
+    }
+
     protected <T> Optional<T> query(
             boolean isAutoClose,
             @NotNull Connection connection,
             @NotNull String sql,
             @NotNull Object[] arguments,
             @NotNull ColumnMapper<T> mapper) {
-        Preconditions.checkNotNull(connection, "Null connection provided");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
-        Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
-        Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
+            Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
         try {
             if(isAutoClose) {
                 try(Connection conn = connection;
-                    PreparedStatement stmt = conn.prepareStatement(sql)){
-                    return executeQueryWithMapper(stmt, arguments, mapper);
+                    PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)){
+                    return executeQueryWithMapper(stmt, sql, arguments, mapper);
                 }
             } else {
-                PreparedStatement stmt = connection.prepareStatement(sql);
-                return executeQueryWithMapper(stmt, arguments, mapper);
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQueryWithMapper(stmt, sql, arguments, mapper);
             }
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
@@ -46,19 +69,23 @@ public class QueryExecutor {
             @NotNull Class<T> clazz,
             @NotNull String sql,
             @NotNull Object[] arguments) {
-        Preconditions.checkNotNull(connection, "Null connection provided");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
-        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
-        Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+            Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
         try {
             if(isAutoClose) {
                 try(Connection conn = connection;
-                    PreparedStatement stmt = conn.prepareStatement(sql)){
-                    return executeQuery(clazz, stmt, arguments);
+                    PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)){
+                    return executeQuery(clazz, stmt, sql, arguments);
                 }
             } else {
-                PreparedStatement stmt = connection.prepareStatement(sql);
-                return executeQuery(clazz, stmt, arguments);
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQuery(clazz, stmt, sql, arguments);
             }
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
@@ -71,19 +98,23 @@ public class QueryExecutor {
             @NotNull Class<T> clazz,
             @NotNull String sql,
             @NotNull Object[] arguments) {
-        Preconditions.checkNotNull(connection, "Null connection provided");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
-        Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
-        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+            Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
         try {
             if(isAutoClose) {
                 try (Connection conn = connection;
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    return executeQueryForList(clazz, stmt, arguments);
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    return executeQueryForList(clazz, stmt, sql, arguments);
                 }
             } else {
-                PreparedStatement stmt = connection.prepareStatement(sql);
-                return executeQueryForList(clazz, stmt, arguments);
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQueryForList(clazz, stmt, sql, arguments);
             }
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
@@ -96,72 +127,608 @@ public class QueryExecutor {
             @NotNull String sql,
             @NotNull Object[] arguments,
             @NotNull ColumnMapper<T> mapper) {
-        Preconditions.checkNotNull(connection, "Null connection provided");
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+            Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try (Connection conn = connection;
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    return executeQueryForListWithMapper(stmt, sql, arguments, mapper);
+                }
+            } else {
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQueryForListWithMapper(stmt, sql, arguments, mapper);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected <T> Optional<T> queryRow(
+            boolean isAutoClose,
+            @NotNull Connection connection,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            @NotNull RowMapper<T> mapper) {
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
+            Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try(Connection conn = connection;
+                    PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)){
+                    return executeQueryWithRowMapper(stmt, sql, arguments, mapper);
+                }
+            } else {
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQueryWithRowMapper(stmt, sql, arguments, mapper);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected <T> List<T> queryRows(
+            boolean isAutoClose,
+            @NotNull Connection connection,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            @NotNull RowMapper<T> mapper) {
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+            Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try (Connection conn = connection;
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    return executeQueryForListWithRowMapper(stmt, sql, arguments, mapper);
+                }
+            } else {
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQueryForListWithRowMapper(stmt, sql, arguments, mapper);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected <T> Optional<T> query(
+            @NotNull StatementCache statementCache,
+            @NotNull Class<T> clazz,
+            @NotNull String sql,
+            @NotNull Object[] arguments) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
+        try {
+            return executeQuery(clazz, ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    protected <T> List<T> queryForList(
+            @NotNull StatementCache statementCache,
+            @NotNull Class<T> clazz,
+            @NotNull String sql,
+            @NotNull Object[] arguments) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+        Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+        try {
+            return executeQueryForList(clazz, ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    protected <T> Optional<T> queryRow(
+            @NotNull StatementCache statementCache,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            @NotNull RowMapper<T> mapper) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments,"Null SQL parameter arguments supplied" );
+        Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        try {
+            return executeQueryWithRowMapper(ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments, mapper);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    protected <T> List<T> queryRows(
+            @NotNull StatementCache statementCache,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            @NotNull RowMapper<T> mapper) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
         Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
         Preconditions.checkNotNull(mapper, "Null mapper supplied");
+        try {
+            return executeQueryForListWithRowMapper(ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments, mapper);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    protected <T> Stream<T> queryForStream(
+            boolean isAutoClose,
+            @NotNull Connection connection,
+            @NotNull Class<T> clazz,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            int fetchSize) {
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+            Preconditions.checkNotNull(clazz, "Null clazz argument supplied");
+            Preconditions.checkArgument(fetchSize >= 0, "Negative fetchSize supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        return executeQueryForStream(isAutoClose, connection, sql, arguments, fetchSize, resultSet -> createExtractor(clazz, resultSet));
+    }
+
+    protected <T> Stream<T> queryForStream(
+            boolean isAutoClose,
+            @NotNull Connection connection,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            @NotNull RowMapper<T> mapper,
+            int fetchSize) {
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+            Preconditions.checkNotNull(mapper, "Null mapper supplied");
+            Preconditions.checkArgument(fetchSize >= 0, "Negative fetchSize supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        return executeQueryForStream(isAutoClose, connection, sql, arguments, fetchSize, resultSet -> {
+            ResultRow row = new ResultRow(resultSet, ExecutorHelperUtil.getColumnNames(resultSet));
+            return x -> mapper.map(row);
+        });
+    }
+
+    protected void queryForEach(
+            boolean isAutoClose,
+            @NotNull Connection connection,
+            @NotNull String sql,
+            @NotNull Object[] arguments,
+            @NotNull Consumer<ResultRow> action,
+            int fetchSize) {
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+            Preconditions.checkNotNull(action, "Null action supplied");
+            Preconditions.checkArgument(fetchSize >= 0, "Negative fetchSize supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try (Connection conn = connection;
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    executeQueryForEach(stmt, sql, arguments, action, fetchSize);
+                }
+            } else {
+                try (PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql)) {
+                    executeQueryForEach(stmt, sql, arguments, action, fetchSize);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected long[] queryForLongArray(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(isAutoClose, connection, sql, arguments, this::readLongArray, x -> x.length);
+    }
+
+    protected long[] queryForLongArray(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(statementCache, sql, arguments, this::readLongArray, x -> x.length);
+    }
+
+    protected int[] queryForIntArray(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(isAutoClose, connection, sql, arguments, this::readIntArray, x -> x.length);
+    }
+
+    protected int[] queryForIntArray(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(statementCache, sql, arguments, this::readIntArray, x -> x.length);
+    }
+
+    protected double[] queryForDoubleArray(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(isAutoClose, connection, sql, arguments, this::readDoubleArray, x -> x.length);
+    }
+
+    protected double[] queryForDoubleArray(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(statementCache, sql, arguments, this::readDoubleArray, x -> x.length);
+    }
+
+    protected ColumnarResult queryForColumns(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(isAutoClose, connection, sql, arguments, ColumnarResult::read, ColumnarResult::getRowCount);
+    }
+
+    protected ColumnarResult queryForColumns(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull Object[] arguments) {
+        return queryForResult(statementCache, sql, arguments, ColumnarResult::read, ColumnarResult::getRowCount);
+    }
+
+    private <R> R queryForResult(
+            boolean isAutoClose,
+            Connection connection,
+            String sql,
+            Object[] arguments,
+            ResultReader<R> reader,
+            ToIntFunction<R> rowCount) {
+        try {
+            Preconditions.checkNotNull(connection, "Null connection provided");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
         try {
             if(isAutoClose) {
                 try (Connection conn = connection;
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    return executeQueryForListWithMapper(stmt, arguments, mapper);
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    return executeQueryForResult(stmt, sql, arguments, reader, rowCount);
                 }
             } else {
-                PreparedStatement stmt = connection.prepareStatement(sql);
-                return executeQueryForListWithMapper(stmt, arguments, mapper);
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeQueryForResult(stmt, sql, arguments, reader, rowCount);
             }
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
         }
     }
 
-    private <T> Optional<T> executeQueryWithMapper(PreparedStatement stmt, Object[] arguments, ColumnMapper<T> mapper) throws SQLException {
-        ExecutorHelperUtil.resolveParameters(stmt, arguments);
-        try(ResultSet resultSet = stmt.executeQuery()) {
-            while (resultSet.next()) {
-                T result = mapper.map(ExecutorHelperUtil.parseRow(resultSet));
+    private <R> R queryForResult(StatementCache statementCache, String sql, Object[] arguments, ResultReader<R> reader, ToIntFunction<R> rowCount) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql),"Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments, "Null SQL parameter arguments supplied");
+        try {
+            return executeQueryForResult(ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments, reader, rowCount);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    private <T> Optional<T> executeQueryWithMapper(PreparedStatement stmt, String sql, Object[] arguments, ColumnMapper<T> mapper) throws SQLException {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            if (resultSet.next()) {
+                long startTime = ExecutorHelperUtil.startTimer(metrics);
+                String[] columnNames = ExecutorHelperUtil.getColumnNames(resultSet);
+                T result = mapper.map(ExecutorHelperUtil.parseRow(resultSet, columnNames));
+                recordMapping(sql, startTime, 1);
                 return (result != null) ? Optional.of(result) : Optional.empty();
             }
         }
         return Optional.empty();
     }
 
-    private <T> Optional<T> executeQuery(Class<T> clazz, PreparedStatement stmt, Object[] arguments) throws SQLException {
-        ExecutorHelperUtil.resolveParameters(stmt, arguments);
-        try(ResultSet resultSet = stmt.executeQuery()) {
-            while (resultSet.next()) {
-                Map<String, Object> dataResult = ExecutorHelperUtil.parseRow(resultSet);
-                T resolved = ReflectiveTypeResolver.resolve(clazz, dataResult);
-                return (resolved != null) ? Optional.of(resolved) : Optional.empty();
+    private <T> Optional<T> executeQuery(Class<T> clazz, PreparedStatement stmt, String sql, Object[] arguments) throws SQLException {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            if (resultSet.next()) {
+                long startTime = ExecutorHelperUtil.startTimer(metrics);
+                T result = createExtractor(clazz, resultSet).extract(resultSet);
+                recordMapping(sql, startTime, 1);
+                return Optional.of(result);
             }
         }
         return Optional.empty();
     }
 
-    private <T> List<T> executeQueryForList(Class<T> clazz, PreparedStatement stmt, Object[] arguments) throws SQLException {
-        ExecutorHelperUtil.resolveParameters(stmt, arguments);
-        try(ResultSet resultSet = stmt.executeQuery()) {
+    private <T> List<T> executeQueryForList(Class<T> clazz, PreparedStatement stmt, String sql, Object[] arguments) throws SQLException {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
             List<T> result = new ArrayList<>();
-            while(resultSet.next()) {
-                Map<String, Object> dataResult = ExecutorHelperUtil.parseRow(resultSet);
-                result.add(ReflectiveTypeResolver.resolve(clazz, dataResult));
+            if(resultSet.next()) {
+                RowExtractor<T> extractor = createExtractor(clazz, resultSet);
+                do {
+                    result.add(extractor.extract(resultSet));
+                } while(resultSet.next());
             }
+            recordMapping(sql, startTime, result.size());
             return result;
         }
     }
 
     private <T> List<T> executeQueryForListWithMapper(
             PreparedStatement stmt,
+            String sql,
             Object[] arguments,
             ColumnMapper<T> mapper) throws SQLException {
-        ExecutorHelperUtil.resolveParameters(stmt, arguments);
-        try(ResultSet resultSet = stmt.executeQuery()) {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
+            List<T> result = new ArrayList<>();
+            if(resultSet.next()) {
+                String[] columnNames = ExecutorHelperUtil.getColumnNames(resultSet);
+                do {
+                    T row = mapper.map(ExecutorHelperUtil.parseRow(resultSet, columnNames));
+                    result.add(row);
+                } while(resultSet.next());
+            }
+            recordMapping(sql, startTime, result.size());
+            return result;
+        }
+    }
+
+    private <T> Optional<T> executeQueryWithRowMapper(PreparedStatement stmt, String sql, Object[] arguments, RowMapper<T> mapper) throws SQLException {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            if (resultSet.next()) {
+                long startTime = ExecutorHelperUtil.startTimer(metrics);
+                ResultRow row = new ResultRow(resultSet, ExecutorHelperUtil.getColumnNames(resultSet));
+                T result = mapper.map(row);
+                recordMapping(sql, startTime, 1);
+                return (result != null) ? Optional.of(result) : Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private <T> List<T> executeQueryForListWithRowMapper(
+            PreparedStatement stmt,
+            String sql,
+            Object[] arguments,
+            RowMapper<T> mapper) throws SQLException {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
             List<T> result = new ArrayList<>();
-            while(resultSet.next()) {
-                T row = mapper.map(ExecutorHelperUtil.parseRow(resultSet));
-                result.add(row);
+            if(resultSet.next()) {
+                ResultRow row = new ResultRow(resultSet, ExecutorHelperUtil.getColumnNames(resultSet));
+                do {
+                    result.add(mapper.map(row));
+                } while(resultSet.next());
             }
+            recordMapping(sql, startTime, result.size());
             return result;
         }
     }
+
+    private void executeQueryForEach(
+            PreparedStatement stmt,
+            String sql,
+            Object[] arguments,
+            Consumer<ResultRow> action,
+            int fetchSize) throws SQLException {
+        stmt.setFetchSize(fetchSize);
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
+            long rows = 0;
+            if(resultSet.next()) {
+                ResultRow row = new ResultRow(resultSet, ExecutorHelperUtil.getColumnNames(resultSet));
+                do {
+                    action.accept(row);
+                    rows++;
+                } while(resultSet.next());
+            }
+            recordMapping(sql, startTime, rows);
+        }
+    }
+
+    private <R> R executeQueryForResult(
+            PreparedStatement stmt,
+            String sql,
+            Object[] arguments,
+            ResultReader<R> reader,
+            ToIntFunction<R> rowCount) throws SQLException {
+        ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        try(ResultSet resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql)) {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
+            R result = reader.read(resultSet);
+            if(metrics.isEnabled()) {
+                recordMapping(sql, startTime, rowCount.applyAsInt(result));
+            }
+            return result;
+        }
+    }
+
+    private long[] readLongArray(ResultSet resultSet) throws SQLException {
+        long[] values = new long[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while(resultSet.next()) {
+            if(size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = resultSet.getLong(1);
+        }
+        return (size == values.length) ? values : Arrays.copyOf(values, size);
+    }
+
+    private int[] readIntArray(ResultSet resultSet) throws SQLException {
+        int[] values = new int[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while(resultSet.next()) {
+            if(size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = resultSet.getInt(1);
+        }
+        return (size == values.length) ? values : Arrays.copyOf(values, size);
+    }
+
+    private double[] readDoubleArray(ResultSet resultSet) throws SQLException {
+        double[] values = new double[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while(resultSet.next()) {
+            if(size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = resultSet.getDouble(1);
+        }
+        return (size == values.length) ? values : Arrays.copyOf(values, size);
+    }
+
+    private <T> RowExtractor<T> createExtractor(Class<T> clazz, ResultSet resultSet) throws SQLException {
+        String[] columnNames = ExecutorHelperUtil.getColumnNames(resultSet);
+        RowMapper<T> generatedMapper = GeneratedRowMappers.find(clazz);
+        if(generatedMapper != null) {
+            ResultRow row = new ResultRow(resultSet, columnNames);
+            return x -> generatedMapper.map(row);
+        }
+        return ReflectiveTypeResolver.getBindingPlan(clazz, columnNames)::bind;
+    }
+
+    // rows are fetched while iterating, so fetch time is included in the mapping phase
+    private void recordMapping(String sql, long startTime, long rows) {
+        if(metrics.isEnabled()) {
+            ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.MAPPING, sql, startTime);
+            metrics.recordRows(sql, rows);
+        }
+    }
+
+    private <T> Stream<T> executeQueryForStream(
+            boolean isAutoClose,
+            Connection connection,
+            String sql,
+            Object[] arguments,
+            int fetchSize,
+            RowExtractorFactory<T> extractorFactory) {
+        StreamResources resources = new StreamResources(isAutoClose ? connection : null);
+        try {
+            PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+            resources.statement = stmt;
+            stmt.setFetchSize(fetchSize);
+            ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+            resources.resultSet = ExecutorHelperUtil.executeQuery(metrics, stmt, sql);
+            ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(resources, extractorFactory);
+            return StreamSupport.stream(spliterator, false).onClose(resources::close);
+        } catch (SQLException | RuntimeException e) {
+            resources.closeQuietly();
+            throw (e instanceof SQLException) ? new DatabaseHelperSQLException(e) : (RuntimeException) e;
+        }
+    }
+
+    private interface ResultReader<R> {
+        R read(ResultSet resultSet) throws SQLException;
+    }
+
+    private interface RowExtractor<T> {
+        T extract(ResultSet resultSet) throws SQLException;
+    }
+
+    private interface RowExtractorFactory<T> {
+        RowExtractor<T> create(ResultSet resultSet) throws SQLException;
+    }
+
+    private static final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final StreamResources resources;
+        private final RowExtractorFactory<T> extractorFactory;
+        private RowExtractor<T> extractor;
+
+        private ResultSetSpliterator(StreamResources resources, RowExtractorFactory<T> extractorFactory) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.resources = resources;
+            this.extractorFactory = extractorFactory;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if(resources.closed) {
+                return false;
+            }
+            try {
+                if(!resources.resultSet.next()) {
+                    resources.close();
+                    return false;
+                }
+                if(extractor == null) {
+                    extractor = extractorFactory.create(resources.resultSet);
+                }
+                action.accept(extractor.extract(resources.resultSet));
+                return true;
+            } catch (SQLException e) {
+                resources.closeQuietly();
+                throw new DatabaseHelperSQLException(e);
+            }
+        }
+    }
+
+    private static final class StreamResources {
+        private final Connection connection;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private boolean closed;
+
+        private StreamResources(Connection connection) {
+            this.connection = connection;
+        }
+
+        private void close() {
+            if(closed) {
+                return;
+            }
+            closed = true;
+            SQLException failure = null;
+            AutoCloseable[] closeables = {resultSet, statement, connection};
+            for(AutoCloseable closeable : closeables) {
+                try {
+                    if(closeable != null) {
+                        closeable.close();
+                    }
+                } catch (Exception e) {
+                    if(failure == null) {
+                        failure = (e instanceof SQLException) ? (SQLException) e : new SQLException(e);
+                    }
+                }
+            }
+            if(failure != null) {
+                throw new DatabaseHelperSQLException(failure);
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                close();
+            } catch (DatabaseHelperSQLException ignored) {
+                // original failure takes precedence
+            }
+        }
+    }
 }
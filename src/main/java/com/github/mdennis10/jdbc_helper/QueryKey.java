@@ -0,0 +1,50 @@
+package com.github.mdennis10.jdbc_helper;
+
+import java.util.Arrays;
+
+/**
+ * Identifies a cached query result by SQL, bound arguments and the entity class
+ * or mapper that produced it. Single row and list results of the same query are
+ * cached separately.
+ * @author Mario Dennis
+ */
+final class QueryKey {
+    private final String sql;
+    private final Object[] arguments;
+    private final Object target;
+    private final boolean list;
+    private final int hashCode;
+
+    private QueryKey(String sql, Object[] arguments, Object target, boolean list) {
+        this.sql = sql;
+        this.arguments = arguments == null ? null : arguments.clone();
+        this.target = target;
+        this.list = list;
+        this.hashCode = 31 * (31 * (31 * sql.hashCode() + Arrays.deepHashCode(this.arguments)) + target.hashCode()) + Boolean.hashCode(list);
+    }
+
+    protected static QueryKey forRow(String sql, Object[] arguments, Object target) {
+        return new QueryKey(sql, arguments, target, false);
+    }
+
+    protected static QueryKey forList(String sql, Object[] arguments, Object target) {
+        return new QueryKey(sql, arguments, target, true);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QueryKey key = (QueryKey) o;
+        return hashCode == key.hashCode &&
+                list == key.list &&
+                sql.equals(key.sql) &&
+                target.equals(key.target) &&
+                Arrays.deepEquals(arguments, key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -3,11 +3,23 @@ package com.github.mdennis10.jdbc_helper;
 import com.google.common.base.Preconditions;
 
 import javax.validation.constraints.NotNull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class ReflectiveTypeResolver {
+    private static final ConcurrentMap<Class<?>, TypeBinding<?>> typeBindings = new ConcurrentHashMap<>();
     private ReflectiveTypeResolver () {}
 
     protected static <T> T resolve(@NotNull Class<T> clazz, @NotNull Map<String, Object> dataResult) {
@@ -16,24 +28,134 @@ public final class ReflectiveTypeResolver {
         if(dataResult.isEmpty()) {
             return null;
         }
-        Map<String, Object> newDataResult = dataResult
-                .keySet()
-                .stream()
-                .collect(Collectors.toMap(String::toUpperCase, dataResult::get));
-        try {
-            T newInstance = clazz.newInstance();
-            Field[] fields = clazz.getDeclaredFields();
-            for(Field field : fields) {
-                String fieldName = field.getName().toUpperCase();
-                if(newDataResult.containsKey(fieldName)) {
-                    field.setAccessible(true);
-                    field.set(newInstance, newDataResult.get(fieldName));
+        TypeBinding<T> typeBinding = getTypeBinding(clazz);
+        T newInstance = typeBinding.newInstance();
+        for(Map.Entry<String, Object> entry : dataResult.entrySet()) {
+            if(entry.getKey() == null) {
+                continue;
+            }
+            FieldSetter setter = typeBinding.setters.get(entry.getKey().toUpperCase());
+            if(setter != null) {
+                setter.set(newInstance, entry.getValue());
+            }
+        }
+        return newInstance;
+    }
+
+    /**
+     * Get binding plan that maps each column of a result set layout directly
+     * to the field of the entity class it populates. Plans are cached per class
+     * and column layout so reflection is only performed once per layout.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param columnNames - upper case column names in result set order
+     * @param <T> - entity class
+     * @return binding plan for the class and column layout
+     */
+    protected static <T> BindingPlan<T> getBindingPlan(@NotNull Class<T> clazz, @NotNull String[] columnNames) {
+        Preconditions.checkNotNull(clazz, "null clazz supplied");
+        Preconditions.checkNotNull(columnNames, "null columnNames supplied");
+        TypeBinding<T> typeBinding = getTypeBinding(clazz);
+        return typeBinding.plans.computeIfAbsent(Arrays.asList(columnNames.clone()), x -> new BindingPlan<>(typeBinding, columnNames));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TypeBinding<T> getTypeBinding(Class<T> clazz) {
+        return (TypeBinding<T>) typeBindings.computeIfAbsent(clazz, TypeBinding::new);
+    }
+
+    static final class BindingPlan<T> {
+        private final TypeBinding<T> typeBinding;
+        private final FieldSetter[] setters;
+
+        private BindingPlan(TypeBinding<T> typeBinding, String[] columnNames) {
+            this.typeBinding = typeBinding;
+            this.setters = new FieldSetter[columnNames.length];
+            for(int x = 0; x < columnNames.length; x++) {
+                if(columnNames[x] != null) {
+                    setters[x] = typeBinding.setters.get(columnNames[x]);
+                }
+            }
+        }
+
+        T bind(ResultSet resultSet) throws SQLException {
+            T newInstance = typeBinding.newInstance();
+            for(int x = 0; x < setters.length; x++) {
+                if(setters[x] != null) {
+                    setters[x].set(newInstance, resultSet.getObject(x + 1));
                 }
             }
             return newInstance;
-        } catch (InstantiationException | IllegalAccessException e) {
-            e.printStackTrace();
         }
-        throw new UnsupportedOperationException();
+    }
+
+    private static final class TypeBinding<T> {
+        private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+        private final Class<T> clazz;
+        private final MethodHandle constructor;
+        private final Map<String, FieldSetter> setters = new HashMap<>();
+        private final ConcurrentMap<List<String>, BindingPlan<T>> plans = new ConcurrentHashMap<>();
+
+        private TypeBinding(Class<T> clazz) {
+            this.clazz = clazz;
+            this.constructor = findConstructor(clazz);
+            for(Field field : clazz.getDeclaredFields()) {
+                if(Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                setters.put(field.getName().toUpperCase(), new FieldSetter(field));
+            }
+        }
+
+        private static MethodHandle findConstructor(Class<?> clazz) {
+            try {
+                Constructor<?> constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T newInstance() {
+            if(constructor == null) {
+                throw new UnsupportedOperationException("No accessible no-arg constructor found for " + clazz.getName());
+            }
+            try {
+                return (T) constructor.invokeExact();
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException("Unable to instantiate " + clazz.getName(), e);
+            }
+        }
+    }
+
+    private static final class FieldSetter {
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+        private final Field field;
+        private final MethodHandle handle;
+
+        private FieldSetter(Field field) {
+            this.field = field;
+            try {
+                field.setAccessible(true);
+                this.handle = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new UnsupportedOperationException(e);
+            }
+        }
+
+        private void set(Object instance, Object value) {
+            try {
+                handle.invokeExact(instance, value);
+            } catch (ClassCastException | NullPointerException e) {
+                String valueType = (value == null) ? "null value" : value.getClass().getName();
+                throw new IllegalArgumentException("Can not set " + field + " to " + valueType, e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException(e);
+            }
+        }
     }
 }
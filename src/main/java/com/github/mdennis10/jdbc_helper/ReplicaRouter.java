@@ -0,0 +1,147 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the replica a read is sent to when DatabaseHelper splits reads from writes.
+ * Optionally keeps a thread's reads on the primary for a window after it writes, so
+ * the thread sees its own changes while replicas catch up.
+ * @author Mario Dennis
+ */
+public final class ReplicaRouter {
+    public enum Policy {
+        /** Rotate through replicas in order. */
+        ROUND_ROBIN,
+        /** Pick the replica whose pool has the fewest connections in use. */
+        LEAST_OUTSTANDING
+    }
+
+    private final List<DbConfig> replicas;
+    private final Policy policy;
+    private final long readYourWritesNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<long[]> lastWrite = ThreadLocal.withInitial(() -> new long[]{Long.MIN_VALUE});
+
+    /**
+     * Create router without read-your-writes stickiness.
+     * @author Mario Dennis
+     * @param replicas - replica database configurations
+     * @param policy - how a replica is selected for each read
+     */
+    public ReplicaRouter(@NotNull List<DbConfig> replicas, @NotNull Policy policy) {
+        this(replicas, policy, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create router that sends a thread's reads to the primary for the given
+     * window after each of its writes.
+     * @author Mario Dennis
+     * @param replicas - replica database configurations
+     * @param policy - how a replica is selected for each read
+     * @param readYourWritesWindow - time reads stay on the primary after a write, 0 to disable
+     * @param unit - unit of the window
+     */
+    public ReplicaRouter(@NotNull List<DbConfig> replicas, @NotNull Policy policy, long readYourWritesWindow, @NotNull TimeUnit unit) {
+        Preconditions.checkNotNull(replicas, "Null replicas supplied");
+        Preconditions.checkArgument(!replicas.isEmpty(), "At least one replica must be supplied");
+        Preconditions.checkNotNull(policy, "Null policy supplied");
+        Preconditions.checkNotNull(unit, "Null unit supplied");
+        Preconditions.checkArgument(readYourWritesWindow >= 0, "readYourWritesWindow must not be negative");
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.policy = policy;
+        this.readYourWritesNanos = unit.toNanos(readYourWritesWindow);
+    }
+
+    public List<DbConfig> getReplicas() {
+        return replicas;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Select config a read should use.
+     * @author Mario Dennis
+     * @param primary - primary database configuration
+     * @param connectionManager - manager holding the replica pools
+     * @return primary when the current thread wrote within the window, otherwise a replica
+     */
+    protected DbConfig route(DbConfig primary, ConnectionManager connectionManager) {
+        if(isWithinWriteWindow()) {
+            return primary;
+        }
+        if(replicas.size() == 1) {
+            return replicas.get(0);
+        }
+        return policy == Policy.LEAST_OUTSTANDING
+                ? leastOutstanding(connectionManager)
+                : roundRobin();
+    }
+
+    /**
+     * Record that the current thread wrote to the primary.
+     * @author Mario Dennis
+     */
+    protected void markWrite() {
+        if(readYourWritesNanos > 0) {
+            lastWrite.get()[0] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Check whether the current thread wrote within the read-your-writes window.
+     * @author Mario Dennis
+     * @return true when the thread's reads go to the primary
+     */
+    protected boolean isWithinWriteWindow() {
+        if(readYourWritesNanos == 0) {
+            return false;
+        }
+        long writtenAt = lastWrite.get()[0];
+        return writtenAt != Long.MIN_VALUE && System.nanoTime() - writtenAt < readYourWritesNanos;
+    }
+
+    private DbConfig roundRobin() {
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Pools other than Hikari don't expose their active connections, so their
+     * replicas are treated as idle. Ties are broken round-robin so equally loaded
+     * replicas share the traffic.
+     */
+    private DbConfig leastOutstanding(ConnectionManager connectionManager) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        DbConfig selected = null;
+        int fewest = Integer.MAX_VALUE;
+        for(int x = 0; x < size; x++) {
+            DbConfig replica = replicas.get((start + x) % size);
+            int outstanding = activeConnections(connectionManager.getDataSource(replica));
+            if(outstanding < fewest) {
+                fewest = outstanding;
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if(!(dataSource instanceof HikariDataSource)) {
+            return 0;
+        }
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+}
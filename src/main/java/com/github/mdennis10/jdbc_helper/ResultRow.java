@@ -0,0 +1,235 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lightweight view over the current row of a live ResultSet. Column metadata
+ * is read once per ResultSet and the same view is reused for every row, so it
+ * must not be retained after the mapper returns.
+ * @author Mario Dennis
+ */
+public final class ResultRow {
+    private final ResultSet resultSet;
+    private final String[] columnNames;
+    private final Map<String, Integer> columnIndexes;
+    private String[] resolvedNames;
+    private int[] resolvedIndexes;
+
+    protected ResultRow(ResultSet resultSet, String[] columnNames) {
+        this.resultSet = resultSet;
+        this.columnNames = columnNames;
+        this.columnIndexes = new HashMap<>(columnNames.length * 2);
+        for (int x = columnNames.length - 1; x >= 0; x--) {
+            if (columnNames[x] != null) {
+                columnIndexes.put(columnNames[x], x + 1);
+            }
+        }
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public String getColumnName(int index) {
+        return columnNames[index - 1];
+    }
+
+    public boolean hasColumn(@NotNull String name) {
+        return indexOf(name) != null;
+    }
+
+    /**
+     * Resolve column name to its index. Names are matched case insensitively.
+     * Resolve names once and use the index based getters when mapping large results.
+     * @author Mario Dennis
+     * @param name - the column name
+     * @return index of the column, starting at 1
+     */
+    public int findColumn(@NotNull String name) {
+        Integer index = indexOf(name);
+        if (index == null) {
+            throw new DatabaseHelperSQLException("Column " + name + " not found in result");
+        }
+        return index;
+    }
+
+    /**
+     * Resolve column names to indexes, 0 for names not in the result. The indexes are
+     * cached for the array instance supplied, so pass the same array for every row
+     * and do not modify the returned indexes.
+     * @author Mario Dennis
+     * @param names - the column names
+     * @return index of each column, starting at 1
+     */
+    public int[] resolveColumns(@NotNull String[] names) {
+        if(names != resolvedNames) {
+            int[] indexes = new int[names.length];
+            for(int x = 0; x < names.length; x++) {
+                Integer index = indexOf(names[x]);
+                indexes[x] = (index != null) ? index : 0;
+            }
+            resolvedIndexes = indexes;
+            resolvedNames = names;
+        }
+        return resolvedIndexes;
+    }
+
+    private Integer indexOf(String name) {
+        Integer index = columnIndexes.get(name);
+        return (index != null) ? index : columnIndexes.get(name.toUpperCase());
+    }
+
+    public Object getObject(int index) {
+        try {
+            return resultSet.getObject(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public <T> T getObject(int index, @NotNull Class<T> type) {
+        try {
+            return resultSet.getObject(index, type);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public String getString(int index) {
+        try {
+            return resultSet.getString(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public int getInt(int index) {
+        try {
+            return resultSet.getInt(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public long getLong(int index) {
+        try {
+            return resultSet.getLong(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public double getDouble(int index) {
+        try {
+            return resultSet.getDouble(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public boolean getBoolean(int index) {
+        try {
+            return resultSet.getBoolean(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public BigDecimal getBigDecimal(int index) {
+        try {
+            return resultSet.getBigDecimal(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public Date getDate(int index) {
+        try {
+            return resultSet.getDate(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public Timestamp getTimestamp(int index) {
+        try {
+            return resultSet.getTimestamp(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public byte[] getBytes(int index) {
+        try {
+            return resultSet.getBytes(index);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    /**
+     * Reports whether the last column read had a value of SQL NULL.
+     * @author Mario Dennis
+     * @return true if the last column value read was SQL NULL
+     */
+    public boolean wasNull() {
+        try {
+            return resultSet.wasNull();
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    public Object getObject(@NotNull String name) {
+        return getObject(findColumn(name));
+    }
+
+    public <T> T getObject(@NotNull String name, @NotNull Class<T> type) {
+        return getObject(findColumn(name), type);
+    }
+
+    public String getString(@NotNull String name) {
+        return getString(findColumn(name));
+    }
+
+    public int getInt(@NotNull String name) {
+        return getInt(findColumn(name));
+    }
+
+    public long getLong(@NotNull String name) {
+        return getLong(findColumn(name));
+    }
+
+    public double getDouble(@NotNull String name) {
+        return getDouble(findColumn(name));
+    }
+
+    public boolean getBoolean(@NotNull String name) {
+        return getBoolean(findColumn(name));
+    }
+
+    public BigDecimal getBigDecimal(@NotNull String name) {
+        return getBigDecimal(findColumn(name));
+    }
+
+    public Date getDate(@NotNull String name) {
+        return getDate(findColumn(name));
+    }
+
+    public Timestamp getTimestamp(@NotNull String name) {
+        return getTimestamp(findColumn(name));
+    }
+
+    public byte[] getBytes(@NotNull String name) {
+        return getBytes(findColumn(name));
+    }
+}
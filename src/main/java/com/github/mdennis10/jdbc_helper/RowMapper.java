@@ -0,0 +1,5 @@
+package com.github.mdennis10.jdbc_helper;
+
+public interface RowMapper <T> {
+    T map(ResultRow row);
+}
@@ -0,0 +1,225 @@
+package com.github.mdennis10.jdbc_helper;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Database operations run on one connection. Statements are prepared once per
+ * connection and reused by later calls with the same SQL.
+ * @author Mario Dennis
+ */
+public interface Session {
+    /**
+     * Issue a single SQL update operation (such as an insert, update or delete statement)
+     * using the supplied SQL statement with the batch of supplied arguments.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return number of rows affected
+     */
+    int executeUpdate(@NotNull String sql, @Nullable Object[] arguments);
+
+    /**
+     * Execute a batch update operation (such as an insert, update or delete statement)
+     * using the supplied SQL statement with the batch of supplied arguments.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return number of rows affected
+     */
+    int[] executeBatchUpdate(@NotNull String sql, @NotNull List<Object[]> arguments);
+
+    /**
+     * Issue a single SQL update operation (usually an insert) prepared to return
+     * generated keys, so the keys are read in the same round trip.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return first generated key column of each inserted row
+     */
+    long[] executeUpdateReturningKeys(@NotNull String sql, @Nullable Object[] arguments);
+
+    /**
+     * Execute a batch update operation (usually an insert) prepared to return
+     * generated keys, so the keys are read in the same round trip.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, one array per row
+     * @return first generated key column of each inserted row, in row order
+     */
+    long[] executeBatchUpdateReturningKeys(@NotNull String sql, @NotNull List<Object[]> arguments);
+
+    /**
+     * Insert entities in one batch and set the key generated for each on it.
+     * Outside a transaction the rows are inserted in a transaction of their own, which
+     * is rolled back unless the driver returns exactly one key per row.
+     * @author Mario Dennis
+     * @param sql - the SQL insert statement
+     * @param entities - entities to insert
+     * @param binder - converts an entity to the statement's arguments
+     * @param keySetter - sets the generated key on an entity
+     * @param <T> - entity class
+     */
+    <T> void executeBatchUpdateReturningKeys(
+            @NotNull String sql,
+            @NotNull List<T> entities,
+            @NotNull Function<T, Object[]> binder,
+            @NotNull ObjLongConsumer<T> keySetter);
+
+    /**
+     * Insert rows by rewriting a single row {@code INSERT ... VALUES (?, ?)} statement
+     * into multi-row {@code VALUES (?, ?), (?, ?), ...} statements of rowsPerStatement
+     * rows each, so drivers send far fewer statements than with a batch update.
+     * rowsPerStatement times the number of parameters per row must stay within the
+     * driver's bind parameter limit.
+     * @author Mario Dennis
+     * @param sql - single row INSERT ... VALUES (...) statement
+     * @param arguments - arguments to bind to the query, one array per row
+     * @param rowsPerStatement - number of rows inserted by each statement
+     * @return total number of rows reported affected by the driver, counting rows without a count as one
+     */
+    long executeBatchInsert(@NotNull String sql, @NotNull List<Object[]> arguments, int rowsPerStatement);
+
+    /**
+     * Execute a batch update operation (such as an insert, update or delete statement)
+     * in chunks, flushing the batch every chunkSize rows. Rows are pulled from the iterator
+     * as they are bound, so large data sets are loaded with bounded memory.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, one array per row
+     * @param chunkSize - number of rows sent to the database per batch
+     * @return total number of rows reported affected by the driver, counting rows without a count as one
+     */
+    long executeBatchUpdate(@NotNull String sql, @NotNull Iterator<Object[]> arguments, int chunkSize);
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param <T> - entity class
+     * @return instance of entity class with result row mapped
+     */
+    <T> Optional<T> query(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments);
+
+    /**
+     * Query database using given SQL data access statement provided.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper
+     */
+    <T> List<T> queryForList(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments);
+
+    /**
+     * Query database using given SQL data access statement provided. The mapper reads
+     * the first row directly from the result set without copying it into a map.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return single row of result extracted from mapper
+     */
+    <T> Optional<T> queryRow(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper);
+
+    /**
+     * Query database using given SQL data access statement provided. The mapper reads
+     * each row directly from the result set without copying it into a map.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param <T> - entity class
+     * @return rows of results extracted from mapper
+     */
+    <T> List<T> queryRows(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper);
+
+    /**
+     * Query database using given SQL data access statement provided. Rows are read lazily
+     * as the stream is consumed, so the stream must be closed before the session ends.
+     * @author Mario Dennis
+     * @param clazz - entity class type
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param fetchSize - number of rows fetched from the database per round trip, 0 for driver default
+     * @param <T> - entity class
+     * @return stream of results mapped to the entity class
+     */
+    <T> Stream<T> queryForStream(@NotNull Class<T> clazz, @NotNull String sql, @NotNull Object[] arguments, int fetchSize);
+
+    /**
+     * Query database using given SQL data access statement provided. Rows are read lazily
+     * as the stream is consumed, so the stream must be closed before the session ends.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param mapper - a callback that will extract results from a view of the current row
+     * @param fetchSize - number of rows fetched from the database per round trip, 0 for driver default
+     * @param <T> - entity class
+     * @return stream of results extracted from mapper
+     */
+    <T> Stream<T> queryForStream(@NotNull String sql, @NotNull Object[] arguments, @NotNull RowMapper<T> mapper, int fetchSize);
+
+    /**
+     * Query database using given SQL data access statement provided and invoke
+     * action for each row as it is read.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param action - a callback invoked with a view of each row
+     * @param fetchSize - number of rows fetched from the database per round trip, 0 for driver default
+     */
+    void queryForEach(@NotNull String sql, @NotNull Object[] arguments, @NotNull Consumer<ResultRow> action, int fetchSize);
+
+    /**
+     * Query database using given SQL data access statement provided and read the
+     * first column of every row into a long array without boxing.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return values of the first column of each row, 0 for null
+     */
+    long[] queryForLongArray(@NotNull String sql, @NotNull Object[] arguments);
+
+    /**
+     * Query database using given SQL data access statement provided and read the
+     * first column of every row into a int array without boxing.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return values of the first column of each row, 0 for null
+     */
+    int[] queryForIntArray(@NotNull String sql, @NotNull Object[] arguments);
+
+    /**
+     * Query database using given SQL data access statement provided and read the
+     * first column of every row into a double array without boxing.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return values of the first column of each row, 0 for null
+     */
+    double[] queryForDoubleArray(@NotNull String sql, @NotNull Object[] arguments);
+
+    /**
+     * Query database using given SQL data access statement provided and store the
+     * result column by column. Integer and floating point columns are kept in
+     * primitive arrays.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return result stored by column
+     */
+    ColumnarResult queryForColumns(@NotNull String sql, @NotNull Object[] arguments);
+}
@@ -0,0 +1,234 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Session holding one connection in auto-commit mode, so each statement commits on
+ * its own. Statements are cached for the life of the session.
+ * @author Mario Dennis
+ */
+class SessionImpl implements Session {
+    private final Connection connection;
+    private final UpdateExecutor updateExecutor;
+    private final QueryExecutor queryExecutor;
+    private final StatementCache statementCache;
+    private final MetricsCollector metrics;
+    private final Runnable onClose;
+    private boolean splitInLists;
+
+    protected SessionImpl(Connection connection, UpdateExecutor updateExecutor, QueryExecutor queryExecutor, MetricsCollector metrics) {
+        this(connection, updateExecutor, queryExecutor, metrics, null);
+    }
+
+    /**
+     * Create session on connection.
+     * @author Mario Dennis
+     * @param connection - connection the session holds until it is closed
+     * @param updateExecutor - executor of updates
+     * @param queryExecutor - executor of queries
+     * @param metrics - collector receiving metrics
+     * @param onClose - called once the connection has been returned to the pool, may be null
+     */
+    protected SessionImpl(
+            Connection connection,
+            UpdateExecutor updateExecutor,
+            QueryExecutor queryExecutor,
+            MetricsCollector metrics,
+            @Nullable Runnable onClose) {
+        Preconditions.checkNotNull(connection);
+        Preconditions.checkNotNull(updateExecutor);
+        Preconditions.checkNotNull(metrics, "Null metrics supplied");
+        this.updateExecutor = updateExecutor;
+        this.queryExecutor = queryExecutor;
+        this.connection = connection;
+        this.metrics = metrics;
+        this.onClose = onClose;
+        this.statementCache = new StatementCache(connection, StatementCache.DEFAULT_CACHE_SIZE);
+    }
+
+    protected Connection getConnection() {
+        return connection;
+    }
+
+    protected StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    protected MetricsCollector getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Split large collection arguments of list and stream queries, like
+     * {@link DatabaseHelper#setInListSplitting(boolean)}.
+     * @author Mario Dennis
+     * @param enabled - true to split large collections in list and stream queries
+     */
+    protected void setInListSplitting(boolean enabled) {
+        this.splitInLists = enabled;
+    }
+
+    private static boolean expandsInList(String sql, Object[] arguments) {
+        return !Strings.isNullOrEmpty(sql) && InListExpansion.hasCollection(arguments);
+    }
+
+    /**
+     * Close cached statements, return connection to the pool and notify the
+     * close callback.
+     * @author Mario Dennis
+     */
+    protected synchronized void close() {
+        try {
+            statementCache.clear();
+            connection.close();
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        } finally {
+            if(onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, @Nullable Object[] arguments) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        if(InListExpansion.hasCollection(arguments)) {
+            return InListExpansion.executeUpdate(sql, arguments, this::executeUpdate);
+        }
+        return updateExecutor.executeUpdate(statementCache, sql, arguments);
+    }
+
+    @Override
+    public int[] executeBatchUpdate(String sql, List<Object[]> arguments) {
+        return updateExecutor.executeBatchUpdate(statementCache, sql, arguments);
+    }
+
+    @Override
+    public long[] executeUpdateReturningKeys(String sql, @Nullable Object[] arguments) {
+        return updateExecutor.executeUpdateReturningKeys(statementCache, sql, arguments);
+    }
+
+    @Override
+    public long[] executeBatchUpdateReturningKeys(String sql, List<Object[]> arguments) {
+        return updateExecutor.executeBatchUpdateReturningKeys(statementCache, sql, arguments);
+    }
+
+    @Override
+    public <T> void executeBatchUpdateReturningKeys(String sql, List<T> entities, Function<T, Object[]> binder, ObjLongConsumer<T> keySetter) {
+        Preconditions.checkNotNull(keySetter, "Null keySetter supplied");
+        List<Object[]> arguments = UpdateExecutor.bindEntities(entities, binder);
+        // the key count is checked before commit, so a mismatch leaves no rows behind to duplicate on retry
+        long[] keys = updateExecutor.executeInTransaction(connection, () -> UpdateExecutor.checkGeneratedKeys(
+            updateExecutor.executeBatchUpdateReturningKeys(statementCache, sql, arguments), entities.size()
+        ));
+        UpdateExecutor.assignGeneratedKeys(entities, keys, keySetter);
+    }
+
+    @Override
+    public long executeBatchInsert(String sql, List<Object[]> arguments, int rowsPerStatement) {
+        return updateExecutor.executeBatchInsert(statementCache, sql, arguments, rowsPerStatement);
+    }
+
+    @Override
+    public long executeBatchUpdate(String sql, Iterator<Object[]> arguments, int chunkSize) {
+        return updateExecutor.executeBatchUpdate(statementCache, sql, arguments, chunkSize);
+    }
+
+    @Override
+    public <T> Optional<T> query(Class<T> clazz, String sql, @NotNull Object[] arguments) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.query(sql, arguments, (chunkSql, chunkArguments) -> query(clazz, chunkSql, chunkArguments));
+        }
+        return queryExecutor.query(statementCache, clazz, sql, arguments);
+    }
+
+    @Override
+    public <T> List<T> queryForList(Class<T> clazz, String sql, @NotNull Object[] arguments) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForList(sql, arguments, splitInLists, (chunkSql, chunkArguments) -> queryForList(clazz, chunkSql, chunkArguments));
+        }
+        return queryExecutor.queryForList(statementCache, clazz, sql, arguments);
+    }
+
+    @Override
+    public <T> Optional<T> queryRow(String sql, @NotNull Object[] arguments, RowMapper<T> mapper) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.query(sql, arguments, (chunkSql, chunkArguments) -> queryRow(chunkSql, chunkArguments, mapper));
+        }
+        return queryExecutor.queryRow(statementCache, sql, arguments, mapper);
+    }
+
+    @Override
+    public <T> List<T> queryRows(String sql, @NotNull Object[] arguments, RowMapper<T> mapper) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForList(sql, arguments, splitInLists, (chunkSql, chunkArguments) -> queryRows(chunkSql, chunkArguments, mapper));
+        }
+        return queryExecutor.queryRows(statementCache, sql, arguments, mapper);
+    }
+
+    @Override
+    public <T> Stream<T> queryForStream(Class<T> clazz, String sql, @NotNull Object[] arguments, int fetchSize) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForStream(
+                sql,
+                arguments,
+                splitInLists,
+                (chunkSql, chunkArguments) -> queryForStream(clazz, chunkSql, chunkArguments, fetchSize)
+            );
+        }
+        return queryExecutor.queryForStream(false, connection, clazz, sql, arguments, fetchSize);
+    }
+
+    @Override
+    public <T> Stream<T> queryForStream(String sql, @NotNull Object[] arguments, RowMapper<T> mapper, int fetchSize) {
+        if(expandsInList(sql, arguments)) {
+            return InListExpansion.queryForStream(
+                sql,
+                arguments,
+                splitInLists,
+                (chunkSql, chunkArguments) -> queryForStream(chunkSql, chunkArguments, mapper, fetchSize)
+            );
+        }
+        return queryExecutor.queryForStream(false, connection, sql, arguments, mapper, fetchSize);
+    }
+
+    @Override
+    public void queryForEach(String sql, @NotNull Object[] arguments, Consumer<ResultRow> action, int fetchSize) {
+        queryExecutor.queryForEach(false, connection, sql, arguments, action, fetchSize);
+    }
+
+    @Override
+    public long[] queryForLongArray(String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForLongArray(statementCache, sql, arguments);
+    }
+
+    @Override
+    public int[] queryForIntArray(String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForIntArray(statementCache, sql, arguments);
+    }
+
+    @Override
+    public double[] queryForDoubleArray(String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForDoubleArray(statementCache, sql, arguments);
+    }
+
+    @Override
+    public ColumnarResult queryForColumns(String sql, @NotNull Object[] arguments) {
+        return queryExecutor.queryForColumns(statementCache, sql, arguments);
+    }
+}
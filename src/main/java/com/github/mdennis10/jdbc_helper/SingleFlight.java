@@ -0,0 +1,63 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Throwables;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces identical concurrent queries. The first caller for a key runs the
+ * query while callers arriving before it finishes wait for and share its result
+ * (or its exception) instead of taking a connection of their own. The published
+ * result is never handed out itself; every caller, including the one that ran
+ * the query, receives its own copy.
+ * @author Mario Dennis
+ */
+final class SingleFlight {
+    private final ConcurrentMap<QueryKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Run query unless an identical query is already running, in which case wait for its result.
+     * @author Mario Dennis
+     * @param key - identifies the query
+     * @param query - executes the query
+     * @param share - creates the copy of the result handed to each caller
+     * @param <V> - result type
+     * @return query result
+     */
+    @SuppressWarnings("unchecked")
+    protected <V> V execute(QueryKey key, Supplier<V> query, UnaryOperator<V> share) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if(existing != null) {
+            return share.apply((V) await(existing));
+        }
+        try {
+            V value = query.get();
+            flight.complete(value);
+            return share.apply(value);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    protected int size() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+}
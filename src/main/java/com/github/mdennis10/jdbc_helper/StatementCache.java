@@ -0,0 +1,136 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import com.google.common.base.Preconditions;
+
+import javax.validation.constraints.NotNull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of prepared statements bound to a single connection.
+ * Statements are reused across calls with the same SQL and closed when evicted
+ * or when the cache is cleared. Parameters are cleared before a statement is reused.
+ * Statements prepared to return generated keys are cached separately from plain
+ * statements with the same SQL.
+ * @author Mario Dennis
+ */
+final class StatementCache {
+    protected static final int DEFAULT_CACHE_SIZE = 64;
+    private final Connection connection;
+    private final Map<Key, PreparedStatement> statements;
+
+    protected StatementCache(@NotNull Connection connection, int maxSize) {
+        Preconditions.checkNotNull(connection, "Null connection provided");
+        Preconditions.checkArgument(maxSize > 0, "maxSize must be greater than zero");
+        this.connection = connection;
+        this.statements = new LinkedHashMap<Key, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if(size() > maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    protected Connection getConnection() {
+        return connection;
+    }
+
+    protected PreparedStatement prepareStatement(@NotNull String sql) throws SQLException {
+        return prepareStatement(sql, false);
+    }
+
+    protected synchronized PreparedStatement prepareStatement(@NotNull String sql, boolean returnGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, returnGeneratedKeys);
+        PreparedStatement stmt = statements.get(key);
+        if(stmt == null || stmt.isClosed()) {
+            stmt = returnGeneratedKeys
+                    ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(sql);
+            statements.put(key, stmt);
+        } else {
+            // a reused statement must not run with the previous call's parameters
+            stmt.clearParameters();
+        }
+        return stmt;
+    }
+
+    /**
+     * Remove and close statement cached for the SQL. Used when a statement
+     * failed and may have been left with pending parameters or batches.
+     * @author Mario Dennis
+     * @param sql - the SQL of the statement to evict
+     */
+    protected synchronized void evict(@NotNull String sql) {
+        for(boolean returnGeneratedKeys : new boolean[]{false, true}) {
+            PreparedStatement stmt = statements.remove(new Key(sql, returnGeneratedKeys));
+            if(stmt != null) {
+                closeQuietly(stmt);
+            }
+        }
+    }
+
+    protected synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Close and remove all cached statements. The cache can still be used afterwards.
+     * @author Mario Dennis
+     */
+    protected synchronized void clear() {
+        SQLException failure = null;
+        for(PreparedStatement stmt : statements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                if(failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        statements.clear();
+        if(failure != null) {
+            throw new DatabaseHelperSQLException(failure);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
+            // statement is discarded either way
+        }
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final boolean returnGeneratedKeys;
+
+        private Key(String sql, boolean returnGeneratedKeys) {
+            this.sql = sql;
+            this.returnGeneratedKeys = returnGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return returnGeneratedKeys == key.returnGeneratedKeys && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + (returnGeneratedKeys ? 1 : 0);
+        }
+    }
+}
@@ -1,75 +1,112 @@
 package com.github.mdennis10.jdbc_helper;
 
 import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
-import com.google.common.base.Preconditions;
-import com.google.common.base.Strings;
 
 import javax.annotation.Nullable;
-import javax.validation.constraints.NotNull;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.List;
-import java.util.Optional;
 
-public class TransactionImpl implements Transaction {
-    private final Connection connection;
-    private final UpdateExecutor updateExecutor;
-    private final QueryExecutor queryExecutor;
+public class TransactionImpl extends SessionImpl implements Transaction {
+    private final int defaultIsolationLevel;
+    private final boolean isolationLevelChanged;
+    private final boolean readOnly;
 
     protected TransactionImpl(Connection connection, UpdateExecutor updateExecutor, QueryExecutor queryExecutor) {
-        Preconditions.checkNotNull(connection);
-        Preconditions.checkNotNull(updateExecutor);
-        this.updateExecutor = updateExecutor;
-        this.queryExecutor = queryExecutor;
-        this.connection = connection;
-        disableAutoCommit();
+        this(connection, updateExecutor, queryExecutor, MetricsCollector.NO_OP);
     }
 
-    private synchronized void disableAutoCommit() {
+    protected TransactionImpl(Connection connection, UpdateExecutor updateExecutor, QueryExecutor queryExecutor, MetricsCollector metrics) {
+        this(connection, updateExecutor, queryExecutor, metrics, TransactionOptions.DEFAULT);
+    }
+
+    protected TransactionImpl(
+            Connection connection,
+            UpdateExecutor updateExecutor,
+            QueryExecutor queryExecutor,
+            MetricsCollector metrics,
+            TransactionOptions options) {
+        this(connection, updateExecutor, queryExecutor, metrics, options, null);
+    }
+
+    protected TransactionImpl(
+            Connection connection,
+            UpdateExecutor updateExecutor,
+            QueryExecutor queryExecutor,
+            MetricsCollector metrics,
+            TransactionOptions options,
+            @Nullable Runnable onClose) {
+        super(connection, updateExecutor, queryExecutor, metrics, onClose);
         try {
+            Integer isolationLevel = options.getIsolationLevel();
+            this.isolationLevelChanged = isolationLevel != null;
+            this.defaultIsolationLevel = isolationLevelChanged ? connection.getTransactionIsolation() : Connection.TRANSACTION_NONE;
+            if(isolationLevelChanged) {
+                connection.setTransactionIsolation(isolationLevel);
+            }
+            this.readOnly = options.isReadOnly();
+            if(readOnly) {
+                connection.setReadOnly(true);
+            }
             connection.setAutoCommit(false);
         } catch (SQLException e) {
+            close();
             throw new DatabaseHelperSQLException(e);
         }
     }
 
+    /**
+     * Rollback transaction and close connection.
+     * @author Mario Dennis
+     */
     @Override
     public synchronized void rollback() {
         try {
-            connection.rollback();
+            long startTime = ExecutorHelperUtil.startTimer(getMetrics());
+            getConnection().rollback();
+            ExecutorHelperUtil.recordPhase(getMetrics(), MetricsCollector.Phase.ROLLBACK, null, startTime);
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
+        } finally {
+            close();
         }
     }
 
+    /**
+     * Commit transaction and close connection, whether or not the commit succeeds.
+     * @author Mario Dennis
+     */
     @Override
     public synchronized void commit() {
         try {
-            connection.commit();
-            connection.close();
+            long startTime = ExecutorHelperUtil.startTimer(getMetrics());
+            getConnection().commit();
+            ExecutorHelperUtil.recordPhase(getMetrics(), MetricsCollector.Phase.COMMIT, null, startTime);
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
+        } finally {
+            close();
         }
     }
 
+    /**
+     * Restore connection settings changed for the transaction and return connection to the pool.
+     * @author Mario Dennis
+     */
     @Override
-    public int executeUpdate(String sql, @Nullable Object[] arguments) {
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
-        return updateExecutor.executeUpdate(false, connection, sql, arguments);
-    }
-
-    @Override
-    public int[] executeBatchUpdate(String sql, List<Object[]> arguments) {
-        return updateExecutor.executeBatchUpdate(false, connection, sql, arguments);
-    }
-
-    @Override
-    public <T> Optional<T> query(Class<T> clazz, String sql, @NotNull Object[] arguments) {
-        return queryExecutor.query(false, connection, clazz, sql, arguments);
-    }
-
-    @Override
-    public <T> List<T> queryForList(Class<T> clazz, String sql, @NotNull Object[] arguments) {
-        return queryExecutor.queryForList(false, connection, clazz, sql, arguments);
+    protected synchronized void close() {
+        try {
+            if(!getConnection().isClosed()) {
+                if(readOnly) {
+                    getConnection().setReadOnly(false);
+                }
+                if(isolationLevelChanged) {
+                    getConnection().setTransactionIsolation(defaultIsolationLevel);
+                }
+            }
+        } catch (SQLException ignored) {
+            // the pool resets or discards connections it can't restore
+        } finally {
+            super.close();
+        }
     }
 }
@@ -0,0 +1,179 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Settings of a transaction run by {@link DatabaseHelper#inTransaction}. A transaction
+ * that fails with a serialization failure (SQLState 40001) or deadlock (SQLState 40P01)
+ * is rolled back and run again after a random backoff, up to maxAttempts times in total.
+ * @author Mario Dennis
+ */
+public final class TransactionOptions {
+    protected static final int DEFAULT_MAX_ATTEMPTS = 3;
+    protected static final long DEFAULT_INITIAL_BACKOFF = 20;
+    protected static final long DEFAULT_MAX_BACKOFF = SECONDS.toMillis(1);
+    protected static final TransactionOptions DEFAULT = builder().build();
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final String DEADLOCK_DETECTED = "40P01";
+    private final Integer isolationLevel;
+    private final boolean readOnly;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+
+    private TransactionOptions(Builder builder) {
+        Preconditions.checkArgument(
+            builder.isolationLevel == null
+                || builder.isolationLevel == Connection.TRANSACTION_READ_UNCOMMITTED
+                || builder.isolationLevel == Connection.TRANSACTION_READ_COMMITTED
+                || builder.isolationLevel == Connection.TRANSACTION_REPEATABLE_READ
+                || builder.isolationLevel == Connection.TRANSACTION_SERIALIZABLE,
+            "isolationLevel must be one of the Connection.TRANSACTION_* levels"
+        );
+        Preconditions.checkArgument(builder.maxAttempts > 0, "maxAttempts must be greater than zero");
+        Preconditions.checkArgument(builder.initialBackoff >= 0, "initialBackoff must not be negative");
+        Preconditions.checkArgument(builder.maxBackoff >= builder.initialBackoff, "maxBackoff must not be less than initialBackoff");
+        this.isolationLevel = builder.isolationLevel;
+        this.readOnly = builder.readOnly;
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+    }
+
+    /**
+     * Create builder for transaction options.
+     * @author Mario Dennis
+     * @return builder initialised with the driver's isolation level, read-write and 3 attempts
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Nullable
+    public Integer getIsolationLevel() {
+        return isolationLevel;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Get time to wait before running the transaction again. The wait is picked at
+     * random up to an exponentially growing cap, so transactions that collided don't
+     * collide again on retry.
+     * @author Mario Dennis
+     * @param attempt - number of the attempt that failed, starting at 1
+     * @return backoff in milliseconds
+     */
+    protected long backoff(int attempt) {
+        int shift = Math.min(attempt - 1, 62);
+        long cap = (initialBackoff <= (maxBackoff >> shift)) ? initialBackoff << shift : maxBackoff;
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Check whether failure was caused by a serialization failure or deadlock, which
+     * succeed when the transaction is run again.
+     * @author Mario Dennis
+     * @param failure - exception thrown by the transaction
+     * @return true if the transaction can be retried
+     */
+    protected static boolean isRetryable(Throwable failure) {
+        for(Throwable cause : Throwables.getCausalChain(failure)) {
+            if(cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if(SERIALIZATION_FAILURE.equals(sqlState) || DEADLOCK_DETECTED.equals(sqlState)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static final class Builder {
+        private Integer isolationLevel;
+        private boolean readOnly;
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        private long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+        private Builder() {
+        }
+
+        /**
+         * Isolation level the transaction runs at.
+         * @author Mario Dennis
+         * @param isolationLevel - one of the Connection.TRANSACTION_* levels, null for the driver's default
+         * @return this builder
+         */
+        public Builder isolationLevel(@Nullable Integer isolationLevel) {
+            this.isolationLevel = isolationLevel;
+            return this;
+        }
+
+        /**
+         * Hint that the transaction doesn't write, so the database can skip locking
+         * or route it to a read-only node.
+         * @author Mario Dennis
+         * @param readOnly - true if the transaction only reads
+         * @return this builder
+         */
+        public Builder readOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+            return this;
+        }
+
+        /**
+         * Number of times the transaction is run before a retryable failure is rethrown.
+         * @author Mario Dennis
+         * @param maxAttempts - total attempts, 1 to disable retries
+         * @return this builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Upper bound of the random wait before the first retry. The bound doubles
+         * with every further retry, up to maxBackoff.
+         * @author Mario Dennis
+         * @param initialBackoff - backoff in milliseconds
+         * @return this builder
+         */
+        public Builder initialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        public Builder maxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public TransactionOptions build() {
+            return new TransactionOptions(this);
+        }
+    }
+}
@@ -8,21 +8,44 @@ import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
 public class UpdateExecutor {
+    private final MetricsCollector metrics;
+
+    public UpdateExecutor() {
+        this(MetricsCollector.NO_OP);
+    }
+
+    protected UpdateExecutor(@NotNull MetricsCollector metrics) {
+        Preconditions.checkNotNull(metrics, "Null metrics supplied");
+        this.metrics = metrics;
+    }
+
     protected int executeUpdate (boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @Nullable Object[] arguments) {
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
         try {
             if(isAutoClose) {
                 try (Connection conn = connection;
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    return executeUpdate(stmt, arguments);
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    return executeUpdate(stmt, sql, arguments);
                 }
             } else {
-                PreparedStatement stmt = connection.prepareStatement(sql);
-                return executeUpdate(stmt, arguments);
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeUpdate(stmt, sql, arguments);
             }
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
@@ -30,40 +53,591 @@ public class UpdateExecutor {
     }
 
     protected int[] executeBatchUpdate(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull List<Object[]> arguments) {
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try(Connection conn = connection;
+                    PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    return executeBatchUpdate(stmt, sql, arguments);
+                }
+            } else {
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+                return executeBatchUpdate(stmt, sql, arguments);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    /**
+     * Execute update prepared to return generated keys, so inserted rows' keys are
+     * read without another round trip.
+     * @author Mario Dennis
+     * @param isAutoClose - close connection once the update completes
+     * @param connection - the connection to execute on
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @return first generated key column of each inserted row
+     */
+    protected long[] executeUpdateReturningKeys(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @Nullable Object[] arguments) {
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try (Connection conn = connection;
+                     PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql, true)) {
+                    executeUpdate(stmt, sql, arguments);
+                    return readGeneratedKeys(stmt, 1);
+                }
+            } else {
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql, true);
+                executeUpdate(stmt, sql, arguments);
+                return readGeneratedKeys(stmt, 1);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected long[] executeUpdateReturningKeys(@NotNull StatementCache statementCache, @NotNull String sql, @Nullable Object[] arguments) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        try {
+            PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql, true);
+            executeUpdate(stmt, sql, arguments);
+            return readGeneratedKeys(stmt, 1);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Execute batch update prepared to return generated keys.
+     * @author Mario Dennis
+     * @param isAutoClose - close connection once the batch completes
+     * @param connection - the connection to execute on
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, one array per row
+     * @return first generated key column of each inserted row, in row order
+     */
+    protected long[] executeBatchUpdateReturningKeys(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull List<Object[]> arguments) {
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            if(isAutoClose) {
+                try(Connection conn = connection;
+                    PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql, true)) {
+                    executeBatchUpdate(stmt, sql, arguments);
+                    return readGeneratedKeys(stmt, arguments.size());
+                }
+            } else {
+                PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql, true);
+                executeBatchUpdate(stmt, sql, arguments);
+                return readGeneratedKeys(stmt, arguments.size());
+            }
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected long[] executeBatchUpdateReturningKeys(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull List<Object[]> arguments) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
         Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        try {
+            PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql, true);
+            executeBatchUpdate(stmt, sql, arguments);
+            return readGeneratedKeys(stmt, arguments.size());
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Convert entities to the arguments of a batch, one array per entity.
+     * @author Mario Dennis
+     * @param entities - entities to insert
+     * @param binder - converts an entity to the statement's arguments
+     * @param <T> - entity class
+     * @return arguments of each row
+     */
+    protected static <T> List<Object[]> bindEntities(@NotNull List<T> entities, @NotNull Function<T, Object[]> binder) {
+        Preconditions.checkNotNull(entities, "Null entities supplied");
+        Preconditions.checkNotNull(binder, "Null binder supplied");
+        List<Object[]> arguments = new ArrayList<>(entities.size());
+        for(T entity : entities) {
+            arguments.add(binder.apply(entity));
+        }
+        return arguments;
+    }
+
+    /**
+     * Pass each entity its generated key.
+     * @author Mario Dennis
+     * @param entities - inserted entities, in the order they were bound
+     * @param keys - generated keys returned by the driver
+     * @param keySetter - sets the key on an entity
+     * @param <T> - entity class
+     */
+    protected static <T> void assignGeneratedKeys(@NotNull List<T> entities, @NotNull long[] keys, @NotNull ObjLongConsumer<T> keySetter) {
+        checkGeneratedKeys(keys, entities.size());
+        for(int x = 0; x < keys.length; x++) {
+            keySetter.accept(entities.get(x), keys[x]);
+        }
+    }
+
+    /**
+     * Check the driver returned exactly one generated key per row.
+     * @author Mario Dennis
+     * @param keys - generated keys returned by the driver
+     * @param rows - number of rows inserted
+     * @return keys
+     */
+    protected static long[] checkGeneratedKeys(@NotNull long[] keys, int rows) {
+        if(keys.length != rows) {
+            throw new DatabaseHelperSQLException(String.format(
+                "Driver returned %s generated keys for %s rows", keys.length, rows
+            ));
+        }
+        return keys;
+    }
+
+    /**
+     * Run work in its own transaction on connection, committing when it returns and
+     * rolling back when it throws. When connection is already in a transaction, work
+     * runs as part of it and the caller's transaction decides the outcome.
+     * @author Mario Dennis
+     * @param connection - the connection work executes on
+     * @param work - statements to run
+     * @param <R> - result type
+     * @return result of work
+     */
+    protected <R> R executeInTransaction(@NotNull Connection connection, @NotNull Supplier<R> work) {
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            if(!autoCommit) {
+                return work.get();
+            }
+            connection.setAutoCommit(false);
+            R result;
+            try {
+                result = work.get();
+                long startTime = ExecutorHelperUtil.startTimer(metrics);
+                connection.commit();
+                ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.COMMIT, null, startTime);
+            } catch (SQLException | RuntimeException e) {
+                rollback(connection, e);
+                restoreAutoCommit(connection, autoCommit, e);
+                throw e;
+            }
+            restoreAutoCommit(connection, autoCommit, null);
+            return result;
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    /**
+     * Execute batch update in its own transaction, so either every row is applied or,
+     * on failure, none is and the batch can safely be retried row by row. Once the commit
+     * succeeds the rows are reported as applied, even if closing the statement, restoring
+     * auto-commit or closing the connection fails afterwards.
+     * @author Mario Dennis
+     * @param isAutoClose - close connection once the batch completes
+     * @param connection - the connection to execute on
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query, one array per row
+     * @return update count of each row
+     */
+    protected int[] executeBatchUpdateInTransaction(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull List<Object[]> arguments) {
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        try {
+            return executeBatchUpdateInTransaction(connection, sql, arguments);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        } finally {
+            if(isAutoClose) {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    /**
+     * Insert rows using multi-row VALUES statements, binding rowsPerStatement rows to
+     * each statement. Rows that don't fill a whole statement are inserted by one narrower statement.
+     * @author Mario Dennis
+     * @param isAutoClose - close connection once the rows are inserted
+     * @param connection - the connection to execute on
+     * @param sql - single row INSERT ... VALUES (...) statement
+     * @param arguments - arguments to bind to the query, one array per row
+     * @param rowsPerStatement - number of rows inserted by each statement
+     * @return total number of rows reported affected by the driver, counting rows without a count as one
+     */
+    protected long executeBatchInsert(boolean isAutoClose, @NotNull Connection connection, @NotNull String sql, @NotNull List<Object[]> arguments, int rowsPerStatement) {
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+            Preconditions.checkArgument(rowsPerStatement > 0, "rowsPerStatement must be greater than zero");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
+        MultiRowInsert insert = MultiRowInsert.parse(sql);
+        try {
+            if(isAutoClose) {
+                try(Connection conn = connection) {
+                    return executeBatchInsert(conn, null, insert, arguments, rowsPerStatement);
+                }
+            }
+            return executeBatchInsert(connection, null, insert, arguments, rowsPerStatement);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected long executeBatchInsert(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull List<Object[]> arguments, int rowsPerStatement) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        Preconditions.checkArgument(rowsPerStatement > 0, "rowsPerStatement must be greater than zero");
+        MultiRowInsert insert = MultiRowInsert.parse(sql);
+        try {
+            return executeBatchInsert(null, statementCache, insert, arguments, rowsPerStatement);
+        } catch (SQLException e) {
+            throw new DatabaseHelperSQLException(e);
+        }
+    }
+
+    protected int executeUpdate(@NotNull StatementCache statementCache, @NotNull String sql, @Nullable Object[] arguments) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        try {
+            return executeUpdate(ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    protected int[] executeBatchUpdate(@NotNull StatementCache statementCache, @NotNull String sql, @NotNull List<Object[]> arguments) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        try {
+            return executeBatchUpdate(ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    protected long executeBatchUpdate(
+            boolean isAutoClose,
+            @NotNull Connection connection,
+            @NotNull String sql,
+            @NotNull Iterator<Object[]> arguments,
+            int chunkSize,
+            boolean commitPerChunk) {
+        try {
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+            Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+            Preconditions.checkArgument(chunkSize > 0, "chunkSize must be greater than zero");
+        } catch (RuntimeException e) {
+            throw ExecutorHelperUtil.closeOnFailure(isAutoClose, connection, e);
+        }
         try {
             if(isAutoClose) {
                 try(Connection conn = connection;
-                    PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    return executeBatchUpdate(stmt, arguments);
+                    PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, conn, sql)) {
+                    if(!commitPerChunk) {
+                        return executeChunkedBatchUpdate(stmt, sql, arguments, chunkSize, null);
+                    }
+                    boolean autoCommit = conn.getAutoCommit();
+                    conn.setAutoCommit(false);
+                    long rows;
+                    try {
+                        rows = executeChunkedBatchUpdate(stmt, sql, arguments, chunkSize, conn);
+                    } catch (SQLException | RuntimeException e) {
+                        rollback(conn, e);
+                        restoreAutoCommit(conn, autoCommit, e);
+                        throw e;
+                    }
+                    // every chunk is committed, so a failed restore must not turn into a failed batch
+                    restoreAutoCommit(conn, autoCommit, null);
+                    return rows;
                 }
             } else {
-                PreparedStatement stmt = connection.prepareStatement(sql);
-                return executeBatchUpdate(stmt, arguments);
+                try(PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql)) {
+                    return executeChunkedBatchUpdate(stmt, sql, arguments, chunkSize, null);
+                }
             }
         } catch (SQLException e) {
             throw new DatabaseHelperSQLException(e);
         }
     }
 
-    private int executeUpdate(PreparedStatement stmt, Object[] arguments) throws SQLException {
+    protected long executeBatchUpdate(
+            @NotNull StatementCache statementCache,
+            @NotNull String sql,
+            @NotNull Iterator<Object[]> arguments,
+            int chunkSize) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(sql), "Null or empty sql argument supplied");
+        Preconditions.checkNotNull(arguments, "Null arguments argument supplied");
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be greater than zero");
+        try {
+            return executeChunkedBatchUpdate(ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql), sql, arguments, chunkSize, null);
+        } catch (SQLException e) {
+            statementCache.evict(sql);
+            throw new DatabaseHelperSQLException(e);
+        } catch (RuntimeException | Error e) {
+            // rows added since the last flush would otherwise run with the next batch
+            statementCache.evict(sql);
+            throw e;
+        }
+    }
+
+    private int executeUpdate(PreparedStatement stmt, String sql, Object[] arguments) throws SQLException {
         if(arguments != null) {
-            ExecutorHelperUtil.resolveParameters(stmt, arguments);
+            ExecutorHelperUtil.resolveParameters(stmt, sql, arguments);
+        }
+        long startTime = ExecutorHelperUtil.startTimer(metrics);
+        int rowsAffected = stmt.executeUpdate();
+        if(metrics.isEnabled()) {
+            ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.EXECUTE, sql, startTime);
+            metrics.recordRows(sql, rowsAffected);
         }
-        return stmt.executeUpdate();
+        return rowsAffected;
     }
 
 
-    private int[] executeBatchUpdate(PreparedStatement stmt, List<Object[]> arguments) throws SQLException  {
+    private int[] executeBatchUpdate(PreparedStatement stmt, String sql, List<Object[]> arguments) throws SQLException  {
         if(arguments.size() == 0) {
             stmt.addBatch();
-            return stmt.executeBatch();
+            return executeBatch(stmt, sql, 1);
         }
         for(Object[] param : arguments) {
-            ExecutorHelperUtil.resolveParameters(stmt, param);
+            ExecutorHelperUtil.resolveParameters(stmt, sql, param);
+            stmt.addBatch();
+        }
+        return executeBatch(stmt, sql, arguments.size());
+    }
+
+    private static long[] readGeneratedKeys(PreparedStatement stmt, int expectedRows) throws SQLException {
+        try(ResultSet keys = stmt.getGeneratedKeys()) {
+            long[] values = new long[Math.max(expectedRows, 1)];
+            int size = 0;
+            while(keys.next()) {
+                if(size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = keys.getLong(1);
+            }
+            return (size == values.length) ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    private int[] executeBatchUpdateInTransaction(Connection connection, String sql, List<Object[]> arguments) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        int[] counts;
+        try {
+            PreparedStatement stmt = ExecutorHelperUtil.prepareStatement(metrics, connection, sql);
+            try {
+                counts = executeBatchUpdate(stmt, sql, arguments);
+                long startTime = ExecutorHelperUtil.startTimer(metrics);
+                connection.commit();
+                ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.COMMIT, null, startTime);
+            } finally {
+                closeQuietly(stmt);
+            }
+        } catch (SQLException | RuntimeException e) {
+            rollback(connection, e);
+            restoreAutoCommit(connection, autoCommit, e);
+            throw e;
+        }
+        // the rows are committed, so a failed restore must not turn into a failed batch
+        restoreAutoCommit(connection, autoCommit, null);
+        return counts;
+    }
+
+    /** Rolls back after failure, attaching a failed rollback to it instead of replacing it. */
+    private void rollback(Connection connection, Throwable failure) {
+        try {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
+            connection.rollback();
+            ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.ROLLBACK, null, startTime);
+        } catch (SQLException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /** Restores auto-commit, attaching a failure to restore it to failure when there is one. */
+    private static void restoreAutoCommit(Connection connection, boolean autoCommit, @Nullable Throwable failure) {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException | RuntimeException e) {
+            if(failure != null) {
+                failure.addSuppressed(e);
+            }
+            // otherwise the pool resets auto-commit when the connection is returned
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            // the outcome was decided by the commit or rollback
+        }
+    }
+
+    private long executeBatchInsert(
+            Connection connection,
+            StatementCache statementCache,
+            MultiRowInsert insert,
+            List<Object[]> arguments,
+            int rowsPerStatement) throws SQLException {
+        for(int x = 0; x < arguments.size(); x++) {
+            Object[] row = arguments.get(x);
+            Preconditions.checkArgument(
+                row != null && row.length == insert.getParameterCount(),
+                "Row %s does not have %s arguments", x, insert.getParameterCount()
+            );
+        }
+        int width = Math.min(rowsPerStatement, arguments.size());
+        if(width == 0) {
+            return 0;
+        }
+        int statements = arguments.size() / width;
+        long rowsAffected = executeMultiRowInsert(connection, statementCache, insert, arguments, 0, statements, width);
+        int remainder = arguments.size() - statements * width;
+        if(remainder > 0) {
+            rowsAffected += executeMultiRowInsert(connection, statementCache, insert, arguments, statements * width, 1, remainder);
+        }
+        return rowsAffected;
+    }
+
+    /** Binds statements rows of width rows each to one prepared statement and sends them as one batch. */
+    private long executeMultiRowInsert(
+            Connection connection,
+            StatementCache statementCache,
+            MultiRowInsert insert,
+            List<Object[]> arguments,
+            int firstRow,
+            int statements,
+            int width) throws SQLException {
+        String sql = insert.sql(width);
+        PreparedStatement stmt = statementCache == null
+                ? ExecutorHelperUtil.prepareStatement(metrics, connection, sql)
+                : ExecutorHelperUtil.prepareStatement(metrics, statementCache, sql);
+        try {
+            int parameterCount = insert.getParameterCount();
+            int row = firstRow;
+            for(int x = 0; x < statements; x++) {
+                for(int y = 0; y < width; y++) {
+                    ExecutorHelperUtil.resolveParameters(stmt, sql, arguments.get(row++), y * parameterCount);
+                }
+                stmt.addBatch();
+            }
+            return rowsAffected(executeBatch(stmt, sql, statements), width);
+        } catch (SQLException | RuntimeException | Error e) {
+            if(statementCache != null) {
+                statementCache.evict(sql);
+            }
+            throw e;
+        } finally {
+            if(statementCache == null) {
+                stmt.close();
+            }
+        }
+    }
+
+    private long executeChunkedBatchUpdate(
+            PreparedStatement stmt,
+            String sql,
+            Iterator<Object[]> arguments,
+            int chunkSize,
+            Connection commitConnection) throws SQLException {
+        long rowsAffected = 0;
+        int pending = 0;
+        while(arguments.hasNext()) {
+            ExecutorHelperUtil.resolveParameters(stmt, sql, arguments.next());
             stmt.addBatch();
+            if(++pending == chunkSize) {
+                rowsAffected += flushBatch(stmt, sql, pending, commitConnection);
+                pending = 0;
+            }
+        }
+        if(pending > 0) {
+            rowsAffected += flushBatch(stmt, sql, pending, commitConnection);
+        }
+        return rowsAffected;
+    }
+
+    private long flushBatch(PreparedStatement stmt, String sql, int batchSize, Connection commitConnection) throws SQLException {
+        long rowsAffected = rowsAffected(executeBatch(stmt, sql, batchSize), 1);
+        if(commitConnection != null) {
+            long startTime = ExecutorHelperUtil.startTimer(metrics);
+            commitConnection.commit();
+            ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.COMMIT, null, startTime);
+        }
+        return rowsAffected;
+    }
+
+    private int[] executeBatch(PreparedStatement stmt, String sql, int batchSize) throws SQLException {
+        long startTime = ExecutorHelperUtil.startTimer(metrics);
+        int[] counts = stmt.executeBatch();
+        if(metrics.isEnabled()) {
+            ExecutorHelperUtil.recordPhase(metrics, MetricsCollector.Phase.EXECUTE, sql, startTime);
+            metrics.recordBatchSize(sql, batchSize);
+            metrics.recordRows(sql, rowsAffected(counts, 1));
+        }
+        return counts;
+    }
+
+    /**
+     * Add up update counts of batch. A statement the driver reports as
+     * {@link Statement#SUCCESS_NO_INFO} succeeded without a count, so it is
+     * counted as rowsPerStatement rows; failed statements are not counted.
+     * @author Mario Dennis
+     * @param counts - update counts returned by executeBatch
+     * @param rowsPerStatement - rows assumed for a statement without a count
+     * @return number of rows affected
+     */
+    private static long rowsAffected(int[] counts, int rowsPerStatement) {
+        long rowsAffected = 0;
+        for(int count : counts) {
+            if(count > 0) {
+                rowsAffected += count;
+            } else if(count == Statement.SUCCESS_NO_INFO) {
+                rowsAffected += rowsPerStatement;
+            }
         }
-        return stmt.executeBatch();
+        return rowsAffected;
     }
 }
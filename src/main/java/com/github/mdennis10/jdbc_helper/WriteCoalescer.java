@@ -0,0 +1,167 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+
+import javax.validation.constraints.NotNull;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Collects concurrent single row updates with the same SQL into one batch. The first
+ * caller for a SQL statement waits up to the window (or until the batch is full) for
+ * other callers to join, then runs every collected row as one batch on one connection
+ * while the others wait for their own update count. If the batch fails it is rolled
+ * back and the rows are run one at a time, so each caller gets the outcome of its own row.
+ * <p>
+ * A coalesced update is committed together with the rest of its batch, and a caller
+ * can wait up to the window longer than it would for a direct update.
+ * @author Mario Dennis
+ */
+public final class WriteCoalescer {
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * Create write coalescer.
+     * @author Mario Dennis
+     * @param window - time the first update of a batch waits for others to join
+     * @param unit - unit of the window
+     * @param maxBatchSize - number of rows at which a batch runs without waiting out the window
+     */
+    public WriteCoalescer(long window, @NotNull TimeUnit unit, int maxBatchSize) {
+        Preconditions.checkArgument(window >= 0, "window must not be negative");
+        Preconditions.checkNotNull(unit, "Null unit supplied");
+        Preconditions.checkArgument(maxBatchSize > 1, "maxBatchSize must be greater than one");
+        this.windowNanos = unit.toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Execute update, batched with concurrent updates of the same SQL.
+     * @author Mario Dennis
+     * @param sql - the SQL query to execute
+     * @param arguments - arguments to bind to the query
+     * @param single - runs one row on its own
+     * @param batch - runs rows as one batch in a transaction, returning the count of each row;
+     *              it must only throw when the batch was rolled back, since the rows are then run again
+     * @return number of rows affected by this caller's row, 1 if the driver reported no count for a batched row
+     */
+    protected int executeUpdate(String sql, Object[] arguments, ToIntFunction<Object[]> single, Function<List<Object[]>, int[]> batch) {
+        if(Strings.isNullOrEmpty(sql) || arguments == null) {
+            return single.applyAsInt(arguments);
+        }
+        Pending pending = new Pending(arguments);
+        while(true) {
+            Batch current = batches.computeIfAbsent(sql, key -> new Batch());
+            boolean isLeader;
+            synchronized (current) {
+                if(current.closed) {
+                    continue;
+                }
+                isLeader = current.rows.isEmpty();
+                current.rows.add(pending);
+                if(current.rows.size() >= maxBatchSize) {
+                    close(sql, current);
+                }
+            }
+            if(isLeader) {
+                awaitWindow(sql, current);
+                try {
+                    run(current.rows, single, batch);
+                } catch (Throwable e) {
+                    current.rows.forEach(row -> row.result.completeExceptionally(e));
+                    throw e;
+                }
+            }
+            return await(pending.result);
+        }
+    }
+
+    private void awaitWindow(String sql, Batch current) {
+        boolean interrupted = false;
+        synchronized (current) {
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining = windowNanos;
+            while(!current.closed && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(current, remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            if(!current.closed) {
+                close(sql, current);
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void close(String sql, Batch current) {
+        current.closed = true;
+        batches.remove(sql, current);
+        current.notifyAll();
+    }
+
+    private static void run(List<Pending> rows, ToIntFunction<Object[]> single, Function<List<Object[]>, int[]> batch) {
+        if(rows.size() > 1) {
+            List<Object[]> arguments = new ArrayList<>(rows.size());
+            for(Pending row : rows) {
+                arguments.add(row.arguments);
+            }
+            try {
+                int[] counts = batch.apply(arguments);
+                for(int x = 0; x < rows.size(); x++) {
+                    // the row succeeded, but the driver didn't say how many rows it changed
+                    rows.get(x).result.complete(counts[x] == Statement.SUCCESS_NO_INFO ? 1 : counts[x]);
+                }
+                return;
+            } catch (RuntimeException e) {
+                // the batch was rolled back, so find out which rows fail by running them alone
+            }
+        }
+        for(Pending row : rows) {
+            try {
+                row.result.complete(single.applyAsInt(row.arguments));
+            } catch (RuntimeException | Error e) {
+                row.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static int await(CompletableFuture<Integer> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    private static final class Batch {
+        private final List<Pending> rows = new ArrayList<>();
+        private boolean closed;
+    }
+
+    private static final class Pending {
+        private final Object[] arguments;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private Pending(Object[] arguments) {
+            this.arguments = arguments;
+        }
+    }
+}
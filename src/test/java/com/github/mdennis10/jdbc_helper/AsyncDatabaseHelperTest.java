@@ -0,0 +1,112 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.model.Person;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncDatabaseHelperTest {
+    private static final DbConfig config = new DbConfig(
+            "sa",
+            "pass@4d1",
+            "jdbc:h2:file:~/helper_test",
+            "org.h2.Driver"
+    );
+
+    @BeforeAll static void setup() throws SQLException, ClassNotFoundException {
+        SqlUtil.executeUpdate(config, "CREATE TABLE Person(name varchar(50))");
+    }
+
+    @AfterAll static void tearDown() throws SQLException, ClassNotFoundException, IOException {
+        SqlUtil.executeUpdate(config, "DROP TABLE Person");
+        DatabaseHelper.close();
+    }
+
+    @Test void executeUpdateAndQueryForList() throws SQLException, ClassNotFoundException, ExecutionException, InterruptedException {
+        try (AsyncDatabaseHelper asyncDatabaseHelper = new AsyncDatabaseHelper(config)) {
+            List<CompletableFuture<Integer>> inserts = new ArrayList<>();
+            for(int x = 0; x < 10; x++) {
+                inserts.add(asyncDatabaseHelper.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"Person " + x}));
+            }
+            CompletableFuture.allOf(inserts.toArray(new CompletableFuture[0])).get();
+            for(CompletableFuture<Integer> insert : inserts) {
+                assertEquals(1, insert.get().intValue());
+            }
+
+            List<Person> persons = asyncDatabaseHelper
+                .queryForList(Person.class, "SELECT * FROM Person", new Object[]{})
+                .get();
+            assertEquals(10, persons.size());
+
+            assertTrue(asyncDatabaseHelper
+                .queryRow("SELECT name FROM Person WHERE name=?", new Object[]{"Person 3"}, row -> row.getString(1))
+                .get()
+                .isPresent());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void query_failureCompletesFutureExceptionally() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (AsyncDatabaseHelper asyncDatabaseHelper = new AsyncDatabaseHelper(new DatabaseHelper(config), executor, 1)) {
+            CompletableFuture<List<Person>> result = asyncDatabaseHelper.queryForList(Person.class, "SELECT * FROM TableThatDoesNotExist", new Object[]{});
+            ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+            assertNotNull(exception.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test void queuedOperationsDoNotHoldExecutorThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncDatabaseHelper asyncDatabaseHelper = new AsyncDatabaseHelper(new DatabaseHelper(config), executor, 1)) {
+            CompletableFuture<Optional<Integer>> first = asyncDatabaseHelper.queryRow("SELECT 1", new Object[]{}, row -> {
+                Uninterruptibles.awaitUninterruptibly(release);
+                return row.getInt(1);
+            });
+            CompletableFuture<Optional<Integer>> second = asyncDatabaseHelper.queryRow("SELECT 2", new Object[]{}, row -> row.getInt(1));
+
+            // the second operation waits for a permit without occupying the other executor thread
+            CompletableFuture.runAsync(() -> {}, executor).get(5, TimeUnit.SECONDS);
+            assertFalse(second.isDone());
+
+            release.countDown();
+            assertEquals(Optional.of(1), first.get(5, TimeUnit.SECONDS));
+            assertEquals(Optional.of(2), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test void constructor_invalidArguments() {
+        NullPointerException nullPointerException = assertThrows(
+            NullPointerException.class,
+            () -> new AsyncDatabaseHelper(null, Runnable::run, 1)
+        );
+        assertEquals("Null databaseHelper supplied", nullPointerException.getMessage());
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new AsyncDatabaseHelper(new DatabaseHelper(config), Runnable::run, 0)
+        );
+        assertEquals("maxConcurrency must be greater than zero", exception.getMessage());
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvBulkLoaderTest {
+    private static final DbConfig config = new DbConfig(
+            "sa",
+            "pass@4d1",
+            "jdbc:h2:file:~/helper_test",
+            "org.h2.Driver"
+    );
+    private static final String SQL = "INSERT INTO Person(name) VALUES(?)";
+
+    @BeforeAll public static void setup() throws SQLException, ClassNotFoundException {
+        SqlUtil.executeUpdate(config, "CREATE TABLE Person(name varchar(50))");
+    }
+
+    @AfterAll public static void tearDown() throws SQLException, ClassNotFoundException, IOException {
+        SqlUtil.executeUpdate(config, "DROP TABLE Person");
+        DatabaseHelper.close();
+    }
+
+    @Test void load(@TempDir Path directory) throws SQLException, ClassNotFoundException, IOException {
+        try {
+            StringBuilder csv = new StringBuilder("name\n");
+            for(int x = 0; x < 2500; x++) {
+                csv.append("Person").append(x).append('\n');
+            }
+            Path file = directory.resolve("people.csv");
+            Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            BulkLoadResult result = CsvBulkLoader.builder(databaseHelper, SQL)
+                    .chunkSize(1000)
+                    .parallelism(2)
+                    .skipHeader(true)
+                    .build()
+                    .load(file);
+            assertTrue(result.isSuccessful());
+            assertEquals(2500, result.getRowsLoaded());
+            assertEquals(0, result.getRowsFailed());
+            assertTrue(result.getRowsPerSecond() > 0);
+
+            List<String> names = databaseHelper.queryForList("SELECT * FROM Person", new Object[]{}, x -> String.valueOf(x.get("NAME")));
+            assertEquals(2500, names.size());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void load_failedChunkIsRolledBack() throws SQLException, ClassNotFoundException {
+        try {
+            String tooLong = "JohnDoe,JohnDoe,JohnDoe,JohnDoe,JohnDoe,JohnDoe,JohnDoe";
+            String csv = "JohnDoe\nJaneDoe\n\"" + tooLong + "\"\nMaryDoe\nJackDoe\n";
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            BulkLoadResult result = CsvBulkLoader.builder(databaseHelper, SQL)
+                    .chunkSize(2)
+                    .rowMapper(fields -> new Object[]{fields[0].toUpperCase()})
+                    .build()
+                    .load(new StringReader(csv));
+            assertFalse(result.isSuccessful());
+            assertEquals(3, result.getRowsLoaded());
+            assertEquals(2, result.getRowsFailed());
+            assertEquals(1, result.getFailures().size());
+
+            BulkLoadResult.ChunkFailure failure = result.getFailures().get(0);
+            assertEquals(1, failure.getChunk());
+            assertEquals(3, failure.getFirstLine());
+            assertEquals(2, failure.getRowCount());
+            assertNotNull(failure.getCause());
+
+            List<String> names = databaseHelper.queryForList("SELECT * FROM Person", new Object[]{}, x -> String.valueOf(x.get("NAME")));
+            assertEquals(3, names.size());
+            assertTrue(names.contains("JACKDOE"));
+            assertFalse(names.contains("MARYDOE"));
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void load_interruptedFailsInsteadOfTruncating() throws SQLException, ClassNotFoundException {
+        try {
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            CsvBulkLoader loader = CsvBulkLoader.builder(databaseHelper, SQL)
+                    .chunkSize(1)
+                    .parallelism(1)
+                    .build();
+            Thread.currentThread().interrupt();
+            IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> loader.load(new StringReader("JohnDoe\nJaneDoe\nMaryDoe\n"))
+            );
+            assertTrue(Thread.interrupted());
+            assertTrue(exception.getCause() instanceof InterruptedException);
+        } finally {
+            Thread.interrupted();
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void builder_invalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> CsvBulkLoader.builder(databaseHelper, "")
+        );
+        assertEquals("Null or empty sql argument supplied", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> CsvBulkLoader.builder(databaseHelper, SQL).chunkSize(0)
+        );
+        assertEquals("chunkSize must be greater than zero", exception.getMessage());
+
+        NullPointerException nullPointerException = assertThrows(
+            NullPointerException.class,
+            () -> CsvBulkLoader.builder(null, SQL)
+        );
+        assertEquals("Null databaseHelper supplied", nullPointerException.getMessage());
+    }
+}
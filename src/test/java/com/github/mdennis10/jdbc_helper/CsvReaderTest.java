@@ -0,0 +1,38 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test void next() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("name,age\r\nJohnDoe,32\n\nJaneDoe,\n"), ',');
+        assertArrayEquals(new String[]{"name", "age"}, reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertArrayEquals(new String[]{"JohnDoe", "32"}, reader.next());
+        assertEquals(2, reader.getRecordLine());
+        // blank line is skipped and an empty field is null
+        assertArrayEquals(new String[]{"JaneDoe", null}, reader.next());
+        assertEquals(4, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test void next_quotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"Doe, John\";\"say \"\"hi\"\"\";\"\"\n\"two\nlines\";x"), ';');
+        assertArrayEquals(new String[]{"Doe, John", "say \"hi\"", ""}, reader.next());
+        assertArrayEquals(new String[]{"two\nlines", "x"}, reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test void next_unterminatedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("JohnDoe\n\"JaneDoe,32\n"), ',');
+        assertArrayEquals(new String[]{"JohnDoe"}, reader.next());
+        IOException exception = assertThrows(IOException.class, reader::next);
+        assertEquals("Unterminated quoted field starting on line 2", exception.getMessage());
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.mdennis10.jdbc_helper;
 
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import com.github.mdennis10.jdbc_helper.model.Employee;
 import com.github.mdennis10.jdbc_helper.model.Person;
 import com.google.common.base.Strings;
 import org.junit.jupiter.api.AfterAll;
@@ -12,9 +14,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -252,6 +260,362 @@ public class DatabaseHelperTest {
         verify(mockResultSet, atLeastOnce()).close();
     }
 
+    @Test void queryRow() throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(NAME) VALUES('JOHN')") > 0;
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            String sql = "SELECT NAME FROM Person WHERE NAME=?";
+            RowMapper<String> mapper = row -> row.getString("name");
+
+            Optional<String> result = databaseHelper.queryRow(sql, new Object[]{"JOHN"}, mapper);
+            assertNotNull(result);
+            assertTrue(result.isPresent());
+            assertEquals("JOHN", result.get());
+
+            result = databaseHelper.queryRow(sql, new Object[]{"SomeValueThatDoesNotExist"}, mapper);
+            assertNotNull(result);
+            assertFalse(result.isPresent());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void queryRows() throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JOHN')") > 0;
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JANE')") > 0;
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            List<String> result = databaseHelper.queryRows(
+                "SELECT * FROM Person",
+                new Object[]{},
+                row -> row.getString(row.findColumn("NAME"))
+            );
+            assertNotNull(result);
+            assertEquals(2, result.size());
+            assertTrue(result.contains("JOHN"));
+            assertTrue(result.contains("JANE"));
+
+            // assert no item was found
+            result = databaseHelper.queryRows(
+                "SELECT * FROM Person WHERE NAME =?",
+                new Object[]{"ValueThatDoesNotExist"},
+                row -> row.getString(1)
+            );
+            assertNotNull(result);
+            assertTrue(result.isEmpty());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void queryRows_invalidParameters() {
+        String sql = "SELECT * FROM Person";
+        RowMapper<String> mapper = row -> row.getString(1);
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryRows(sql, null, mapper)
+        );
+        assertEquals("Null SQL parameter arguments supplied", nullPointerException.getMessage());
+
+        // assert null sql parameter
+        String expected = "Null or empty sql argument supplied";
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.queryRows(null, new Object[]{}, mapper)
+        );
+        assertEquals(expected, exception.getMessage());
+
+        // assert null mapper
+        nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryRows(sql, new Object[]{}, null)
+        );
+        assertEquals("Null mapper supplied", nullPointerException.getMessage());
+    }
+
+    @Test void queryRows_partitioned() throws SQLException, ClassNotFoundException {
+        try {
+            SqlUtil.executeUpdate(config, "CREATE TABLE Item(id int, name varchar(50))");
+            for(int x = 1; x <= 100; x++) {
+                assert SqlUtil.executeUpdate(config, "INSERT INTO Item(id, name) VALUES(" + x + ", 'ITEM" + x + "')") > 0;
+            }
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            List<Integer> result = databaseHelper.queryRows(
+                "SELECT id FROM Item WHERE name <> ? AND {partition} ORDER BY id",
+                new Object[]{"ITEM50"},
+                row -> row.getInt(1),
+                Partitioning.range("id", 1, 100, 4)
+            );
+            // slices are merged in range order
+            assertEquals(99, result.size());
+            assertEquals(IntStream.rangeClosed(1, 100).filter(x -> x != 50).boxed().collect(Collectors.toList()), result);
+
+            // without a placeholder the query is filtered as a derived table
+            try(Stream<String> names = databaseHelper.queryForStream(
+                "SELECT id, name FROM Item",
+                new Object[]{},
+                row -> row.getString(2),
+                Partitioning.range("id", 1, 10, 3)
+            )) {
+                List<String> list = names.collect(Collectors.toList());
+                assertEquals(10, list.size());
+                assertTrue(list.contains("ITEM10"));
+            }
+        } finally {
+            SqlUtil.executeUpdate(config, "DROP TABLE Item");
+        }
+    }
+
+    @Test void queryRows_inList() throws SQLException, ClassNotFoundException {
+        try {
+            SqlUtil.executeUpdate(config, "CREATE TABLE Item(id int, name varchar(50))");
+            for(int x = 1; x <= 100; x++) {
+                assert SqlUtil.executeUpdate(config, "INSERT INTO Item(id, name) VALUES(" + x + ", 'ITEM" + x + "')") > 0;
+            }
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            List<Integer> result = databaseHelper.queryRows(
+                "SELECT id FROM Item WHERE id IN (?) AND name <> ? ORDER BY id",
+                new Object[]{Arrays.asList(3, 5, 7), "ITEM5"},
+                row -> row.getInt(1)
+            );
+            assertEquals(Arrays.asList(3, 7), result);
+
+            // lists longer than the limit are rejected unless splitting is enabled
+            List<Integer> ids = IntStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.queryRows("SELECT id FROM Item WHERE id IN (?)", new Object[]{ids}, row -> row.getInt(1))
+            );
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.executeUpdate("DELETE FROM Item WHERE id NOT IN (?)", new Object[]{ids})
+            );
+            databaseHelper.setInListSplitting(true);
+            result = databaseHelper.queryRows("SELECT id FROM Item WHERE id IN (?)", new Object[]{ids}, row -> row.getInt(1));
+            assertEquals(100, result.size());
+            // updates are never split
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.executeUpdate("DELETE FROM Item WHERE id NOT IN (?)", new Object[]{ids})
+            );
+
+            assertEquals(2, databaseHelper.executeUpdate("DELETE FROM Item WHERE id IN (?)", new Object[]{Arrays.asList(1, 2)}));
+        } finally {
+            SqlUtil.executeUpdate(config, "DROP TABLE Item");
+        }
+    }
+
+    @Test void queryRows_inListInvalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> databaseHelper.queryRows("SELECT * FROM Person WHERE name IN (?)", new Object[]{Collections.emptyList()}, row -> row.getString(1))
+        );
+        assertEquals("Empty collection supplied for parameter 1", exception.getMessage());
+    }
+
+    @Test void queryRows_partitionedInvalidParameters() {
+        String sql = "SELECT * FROM Person";
+        RowMapper<String> mapper = row -> row.getString(1);
+        Partitioning partitioning = Partitioning.range("id", 1, 100, 4);
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryRows(sql, new Object[]{}, mapper, null)
+        );
+        assertEquals("Null partitioning supplied", nullPointerException.getMessage());
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.queryRows("", new Object[]{}, mapper, partitioning)
+        );
+        assertEquals("Null or empty sql argument supplied", exception.getMessage());
+
+        nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryForList(Person.class, sql, new Object[]{}, (Partitioning) null)
+        );
+        assertEquals("Null partitioning supplied", nullPointerException.getMessage());
+    }
+
+    @Test void queryRows_resourceCleanUp() throws SQLException {
+        String sql = "SELECT * FROM PERSON";
+        ConnectionManager mockConnectionManager = mock(ConnectionManager.class);
+        DataSource mockDataSource = mock(DataSource.class);
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        ResultSet mockResultSet = mock(ResultSet.class);
+
+        when(mockConnectionManager.getDataSource(config)).thenReturn(mockDataSource);
+        when(mockDataSource.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(sql)).thenReturn(mockPrepStmt);
+        when(mockPrepStmt.executeQuery()).thenReturn(mockResultSet);
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        databaseHelper.setConnectionManager(mockConnectionManager);
+        databaseHelper.queryRows(sql, new Object[]{}, row -> row.getString(1));
+        verify(mockConnection, atLeastOnce()).close();
+        verify(mockPrepStmt, atLeastOnce()).close();
+        verify(mockResultSet, atLeastOnce()).close();
+    }
+
+    @Test void queryForStream() throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JOHN')") > 0;
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JANE')") > 0;
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            try (Stream<Person> persons = databaseHelper.queryForStream(Person.class, "SELECT * FROM Person", new Object[]{}, 1)) {
+                List<String> names = persons.map(Person::getName).collect(Collectors.toList());
+                assertEquals(2, names.size());
+                assertTrue(names.contains("JOHN"));
+                assertTrue(names.contains("JANE"));
+            }
+
+            try (Stream<String> names = databaseHelper.queryForStream(
+                "SELECT * FROM Person WHERE NAME =?",
+                new Object[]{"JANE"},
+                row -> row.getString("NAME"))) {
+                assertEquals("JANE", names.findFirst().orElse(null));
+            }
+
+            List<String> names = new ArrayList<>();
+            databaseHelper.queryForEach("SELECT * FROM Person", new Object[]{}, row -> names.add(row.getString(1)));
+            assertEquals(2, names.size());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void queryForPrimitiveArrays() throws SQLException, ClassNotFoundException {
+        try {
+            SqlUtil.executeUpdate(config, "CREATE TABLE Reading(id bigint, reading double, label varchar(20))");
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            List<Object[]> rows = new ArrayList<>();
+            for(int x = 1; x <= 100; x++) {
+                rows.add(new Object[]{x, x * 0.5, (x % 10 == 0) ? null : "R" + x});
+            }
+            databaseHelper.executeBatchUpdate("INSERT INTO Reading(id, reading, label) VALUES(?,?,?)", rows);
+
+            long[] ids = databaseHelper.queryForLongArray("SELECT id FROM Reading ORDER BY id", new Object[]{});
+            assertEquals(100, ids.length);
+            assertEquals(1, ids[0]);
+            assertEquals(100, ids[99]);
+
+            int[] intIds = databaseHelper.queryForIntArray("SELECT id FROM Reading WHERE id <= ? ORDER BY id", new Object[]{3});
+            assertArrayEquals(new int[]{1, 2, 3}, intIds);
+
+            double[] readings = databaseHelper.queryForDoubleArray("SELECT reading FROM Reading ORDER BY id", new Object[]{});
+            assertEquals(100, readings.length);
+            assertEquals(50.0, readings[99], 0.0001);
+
+            assertEquals(0, databaseHelper.queryForLongArray("SELECT id FROM Reading WHERE id < 0", new Object[]{}).length);
+        } finally {
+            SqlUtil.executeUpdate(config, "DROP TABLE Reading");
+        }
+    }
+
+    @Test void queryForColumns() throws SQLException, ClassNotFoundException {
+        try {
+            SqlUtil.executeUpdate(config, "CREATE TABLE Reading(id bigint, reading double, label varchar(20))");
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            databaseHelper.executeBatchUpdate("INSERT INTO Reading(id, reading, label) VALUES(?,?,?)", Arrays.asList(
+                new Object[]{1, 1.5, "first"},
+                new Object[]{2, null, null}
+            ));
+
+            ColumnarResult result = databaseHelper.queryForColumns("SELECT id, reading, label FROM Reading ORDER BY id", new Object[]{});
+            assertEquals(2, result.getRowCount());
+            assertEquals(3, result.getColumnCount());
+            assertEquals(ColumnarResult.ColumnType.LONG, result.getColumnType(1));
+            assertEquals(ColumnarResult.ColumnType.DOUBLE, result.getColumnType(2));
+            assertEquals(ColumnarResult.ColumnType.OBJECT, result.getColumnType(3));
+            assertArrayEquals(new long[]{1, 2}, result.getLongColumn(result.findColumn("id")));
+            assertEquals(1.5, result.getDouble(2, 1), 0.0001);
+            assertFalse(result.isNull(2, 1));
+            assertTrue(result.isNull(2, 2));
+            assertEquals("first", result.getObject(3, 1));
+            assertNull(result.getObject(3, 2));
+            assertThrows(IllegalArgumentException.class, () -> result.getLongColumn(3));
+        } finally {
+            SqlUtil.executeUpdate(config, "DROP TABLE Reading");
+        }
+    }
+
+    @Test void queryForLongArray_invalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryForLongArray("SELECT 1", null)
+        );
+        assertEquals("Null SQL parameter arguments supplied", nullPointerException.getMessage());
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.queryForColumns("", new Object[]{})
+        );
+        assertEquals("Null or empty sql argument supplied", exception.getMessage());
+    }
+
+    @Test void queryForStream_invalidParameters() {
+        String sql = "SELECT * FROM Person";
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryForStream(Person.class, sql, null)
+        );
+        assertEquals("Null SQL parameter arguments supplied", nullPointerException.getMessage());
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.queryForStream(Person.class, "", new Object[]{})
+        );
+        assertEquals("Null or empty sql argument supplied", exception.getMessage());
+
+        exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> databaseHelper.queryForStream(Person.class, sql, new Object[]{}, -1)
+        );
+        assertEquals("Negative fetchSize supplied", exception.getMessage());
+
+        nullPointerException = assertThrows(
+                NullPointerException.class,
+                () -> databaseHelper.queryForEach(sql, new Object[]{}, null)
+        );
+        assertEquals("Null action supplied", nullPointerException.getMessage());
+    }
+
+    @Test void queryForStream_resourceCleanUp() throws SQLException {
+        String sql = "SELECT * FROM PERSON";
+        ConnectionManager mockConnectionManager = mock(ConnectionManager.class);
+        DataSource mockDataSource = mock(DataSource.class);
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        ResultSet mockResultSet = mock(ResultSet.class);
+
+        when(mockConnectionManager.getDataSource(config)).thenReturn(mockDataSource);
+        when(mockDataSource.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(sql)).thenReturn(mockPrepStmt);
+        when(mockPrepStmt.executeQuery()).thenReturn(mockResultSet);
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        databaseHelper.setConnectionManager(mockConnectionManager);
+        Stream<Person> persons = databaseHelper.queryForStream(Person.class, sql, new Object[]{}, 50);
+        verify(mockPrepStmt, times(1)).setFetchSize(50);
+        verify(mockConnection, never()).close();
+
+        persons.close();
+        verify(mockConnection, times(1)).close();
+        verify(mockPrepStmt, times(1)).close();
+        verify(mockResultSet, times(1)).close();
+    }
+
     @Test void query() throws SQLException, ClassNotFoundException {
         try {
             assert SqlUtil.executeUpdate(config, "INSERT INTO Person(NAME) VALUES('JOHN')") > 0;
@@ -356,6 +720,30 @@ public class DatabaseHelperTest {
         }
     }
 
+    @Test void queryForList_generatedRowMapperMissing() throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JOHN')") > 0;
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JANE')") > 0;
+
+            // the processor doesn't run on this build, so the annotated class falls back to reflection;
+            // generated mappers are tested end to end in jdbc-helper-processor
+            assertNull(GeneratedRowMappers.find(Employee.class));
+            assertNull(GeneratedRowMappers.find(Person.class));
+
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            List<Employee> result = databaseHelper.queryForList(Employee.class, "SELECT * FROM Person", new Object[]{});
+            assertEquals(2, result.size());
+            assertEquals("JOHN", result.get(0).getName());
+            assertEquals("JANE", result.get(1).getName());
+
+            Optional<Employee> employee = databaseHelper.query(Employee.class, "SELECT * FROM Person WHERE name=?", new Object[]{"JANE"});
+            assertTrue(employee.isPresent());
+            assertEquals("JANE", employee.get().getName());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
     @Test void queryForList_invalidParameters() {
         String sql = "SELECT * FROM Person";
 
@@ -457,6 +845,129 @@ public class DatabaseHelperTest {
     }
 
 
+    @Test void executeBatchInsert() throws SQLException, ClassNotFoundException {
+        try {
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            List<Object[]> parameters = new ArrayList<>();
+            for(int x = 0; x < 7; x++) {
+                parameters.add(new Object[]{"JohnDoe" + x});
+            }
+            // two statements of three rows and one of a single row
+            long result = databaseHelper.executeBatchInsert("INSERT INTO Person(name) VALUES(?)", parameters, 3);
+            assertEquals(7, result);
+            List<Object> names = databaseHelper.queryForList(
+                "SELECT name FROM Person ORDER BY name", new Object[]{}, row -> row.get("NAME")
+            );
+            assertEquals(Arrays.asList("JohnDoe0", "JohnDoe1", "JohnDoe2", "JohnDoe3", "JohnDoe4", "JohnDoe5", "JohnDoe6"), names);
+            assertEquals(0, databaseHelper.executeBatchInsert("INSERT INTO Person(name) VALUES(?)", new ArrayList<>(), 3));
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void executeBatchInsert_invalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        List<Object[]> parameters = Collections.singletonList(new Object[]{"JaneDoe"});
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> databaseHelper.executeBatchInsert("UPDATE Person SET name = ?", parameters, 10)
+        );
+        assertEquals("sql must be a single row INSERT ... VALUES (...) statement", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> databaseHelper.executeBatchInsert("INSERT INTO Person(name) VALUES(?)", parameters, 0)
+        );
+        assertEquals("rowsPerStatement must be greater than zero", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> databaseHelper.executeBatchInsert("INSERT INTO Person(name) VALUES(?)", Collections.singletonList(new Object[]{"JaneDoe", 1}), 10)
+        );
+        assertEquals("Row 0 does not have 1 arguments", exception.getMessage());
+    }
+
+    @Test void executeUpdateReturningKeys() throws SQLException, ClassNotFoundException {
+        try {
+            SqlUtil.executeUpdate(config, "CREATE TABLE Account(id bigint auto_increment primary key, name varchar(50))");
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            String sql = "INSERT INTO Account(name) VALUES(?)";
+
+            long[] keys = databaseHelper.executeUpdateReturningKeys(sql, new Object[]{"JohnDoe"});
+            assertEquals(1, keys.length);
+
+            long[] batchKeys = databaseHelper.executeBatchUpdateReturningKeys(sql, Arrays.asList(new Object[]{"JaneDoe"}, new Object[]{"MaryDoe"}));
+            assertEquals(2, batchKeys.length);
+            assertTrue(keys[0] < batchKeys[0] && batchKeys[0] < batchKeys[1]);
+
+            // keys are set back onto the inserted entities, in order
+            Person jack = new Person();
+            jack.setName("JackDoe");
+            Person jill = new Person();
+            jill.setName("JillDoe");
+            databaseHelper.executeBatchUpdateReturningKeys(sql, Arrays.asList(jack, jill), person -> new Object[]{person.getName()}, (person, key) -> person.setAge((int) key));
+            long[] ids = databaseHelper.queryForLongArray("SELECT id FROM Account WHERE name IN ('JackDoe', 'JillDoe') ORDER BY id", new Object[]{});
+            assertEquals(ids[0], jack.getAge());
+            assertEquals(ids[1], jill.getAge());
+        } finally {
+            SqlUtil.executeUpdate(config, "DROP TABLE Account");
+        }
+    }
+
+    @Test void executeBatchUpdateReturningKeys_invalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> databaseHelper.executeBatchUpdateReturningKeys("", Collections.singletonList(new Object[]{"JaneDoe"}))
+        );
+        assertEquals("Null or empty sql argument supplied", exception.getMessage());
+
+        NullPointerException nullPointerException = assertThrows(
+            NullPointerException.class,
+            () -> databaseHelper.executeBatchUpdateReturningKeys("INSERT INTO Person(name) VALUES(?)", null)
+        );
+        assertEquals("Null arguments argument supplied", nullPointerException.getMessage());
+
+        nullPointerException = assertThrows(
+            NullPointerException.class,
+            () -> databaseHelper.executeBatchUpdateReturningKeys(
+                "INSERT INTO Person(name) VALUES(?)", Collections.singletonList(new Person()), person -> new Object[]{person.getName()}, null
+            )
+        );
+        assertEquals("Null keySetter supplied", nullPointerException.getMessage());
+    }
+
+    @Test void executeBatchUpdateReturningKeys_keyCountMismatchRolledBack() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        ConnectionManager mockConnectionManager = mock(ConnectionManager.class);
+        DataSource mockDataSource = mock(DataSource.class);
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        ResultSet mockKeys = mock(ResultSet.class);
+
+        when(mockConnectionManager.getDataSource(config)).thenReturn(mockDataSource);
+        when(mockDataSource.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)).thenReturn(mockPrepStmt);
+        when(mockPrepStmt.executeBatch()).thenReturn(new int[]{1, 1});
+        when(mockPrepStmt.getGeneratedKeys()).thenReturn(mockKeys);
+        when(mockKeys.next()).thenReturn(true, false);
+        when(mockKeys.getLong(1)).thenReturn(1L);
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        databaseHelper.setConnectionManager(mockConnectionManager);
+        Person jack = new Person();
+        Person jill = new Person();
+        DatabaseHelperSQLException exception = assertThrows(
+            DatabaseHelperSQLException.class,
+            () -> databaseHelper.executeBatchUpdateReturningKeys(sql, Arrays.asList(jack, jill), person -> new Object[]{person.getName()}, (person, key) -> person.setAge((int) key))
+        );
+        assertEquals("Driver returned 1 generated keys for 2 rows", exception.getMessage());
+        verify(mockConnection, never()).commit();
+        verify(mockConnection, times(1)).rollback();
+        verify(mockConnection, atLeastOnce()).close();
+        assertEquals(0, jack.getAge());
+    }
+
     @Test void executeBatchUpdate_resourceCleanUp() throws SQLException {
         String sql = "CREATE TABLE User(name varchar(50))";
         ConnectionManager mockConnectionManager = mock(ConnectionManager.class);
@@ -493,6 +1004,70 @@ public class DatabaseHelperTest {
         assertEquals(expected, exception.getMessage());
     }
 
+    @Test void executeBatchUpdate_chunked() throws SQLException, ClassNotFoundException {
+        try {
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            long result = databaseHelper.executeBatchUpdate(
+                "INSERT INTO Person(name) VALUES(?)",
+                IntStream.range(0, 25).mapToObj(x -> new Object[]{"Person " + x}).iterator(),
+                10,
+                true
+            );
+            assertEquals(25, result);
+            List<Person> persons = databaseHelper.queryForList(Person.class, "SELECT * FROM Person", new Object[]{});
+            assertEquals(25, persons.size());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void executeBatchUpdate_chunkedFlushesAndCommitsPerChunk() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        ConnectionManager mockConnectionManager = mock(ConnectionManager.class);
+        DataSource mockDataSource = mock(DataSource.class);
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+
+        when(mockConnectionManager.getDataSource(config)).thenReturn(mockDataSource);
+        when(mockDataSource.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(sql)).thenReturn(mockPrepStmt);
+        // a row the driver reports without a count still counts as affected
+        when(mockPrepStmt.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{1, Statement.SUCCESS_NO_INFO}, new int[]{1});
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        databaseHelper.setConnectionManager(mockConnectionManager);
+        long result = databaseHelper.executeBatchUpdate(
+            sql,
+            IntStream.range(0, 5).mapToObj(x -> new Object[]{"Person " + x}).iterator(),
+            2,
+            true
+        );
+        assertEquals(5, result);
+        verify(mockPrepStmt, times(5)).addBatch();
+        verify(mockPrepStmt, times(3)).executeBatch();
+        verify(mockConnection, times(3)).commit();
+        verify(mockConnection, times(1)).setAutoCommit(false);
+        verify(mockConnection, times(1)).setAutoCommit(true);
+        verify(mockConnection, atLeastOnce()).close();
+        verify(mockPrepStmt, atLeastOnce()).close();
+    }
+
+    @Test void executeBatchUpdate_chunkedInvalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> databaseHelper.executeBatchUpdate("INSERT INTO Person(name) VALUES(?)", new ArrayList<Object[]>().iterator(), 0, false)
+        );
+        assertEquals("chunkSize must be greater than zero", exception.getMessage());
+
+        NullPointerException nullPointerException = assertThrows(
+            NullPointerException.class,
+            () -> databaseHelper.executeBatchUpdate("INSERT INTO Person(name) VALUES(?)", null, 10, false)
+        );
+        assertEquals("Null arguments argument supplied", nullPointerException.getMessage());
+    }
+
     @Test void getTransaction()  {
         DatabaseHelper databaseHelper = new DatabaseHelper(config);
         Transaction transaction = databaseHelper.getTransaction();
@@ -507,4 +1082,101 @@ public class DatabaseHelperTest {
         assertFalse(persons.isEmpty());
         assertTrue(persons.stream().allMatch(x -> !Strings.isNullOrEmpty(x.getName())));
     }
+
+    @Test void withSession() throws SQLException, ClassNotFoundException {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        try {
+            List<String> names = databaseHelper.withSession(session -> {
+                session.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"SESSION1"});
+                session.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"SESSION2"});
+                return session.queryRows(
+                    "SELECT name FROM Person WHERE name LIKE ? ORDER BY name",
+                    new Object[]{"SESSION%"},
+                    row -> row.getString(1)
+                );
+            });
+            assertEquals(Arrays.asList("SESSION1", "SESSION2"), names);
+            // updates commit on their own without a transaction
+            assertEquals(2, databaseHelper.queryRows("SELECT name FROM Person WHERE name LIKE ?", new Object[]{"SESSION%"}, row -> row.getString(1)).size());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person WHERE name LIKE 'SESSION%'");
+        }
+    }
+
+    @Test void withSession_invalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException exception = assertThrows(NullPointerException.class, () -> databaseHelper.withSession(null));
+        assertEquals("Null work supplied", exception.getMessage());
+    }
+
+    @Test void inTransaction() throws SQLException, ClassNotFoundException {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        try {
+            int inserted = databaseHelper.inTransaction(transaction ->
+                transaction.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"COMMITTED"})
+            );
+            assertEquals(1, inserted);
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> databaseHelper.inTransaction(transaction -> {
+                transaction.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"ROLLED_BACK"});
+                throw new IllegalStateException("failed");
+            }));
+            assertEquals("failed", exception.getMessage());
+
+            List<String> names = databaseHelper.inTransaction(
+                TransactionOptions.builder().readOnly(true).isolationLevel(Connection.TRANSACTION_SERIALIZABLE).build(),
+                transaction -> transaction.queryRows(
+                    "SELECT name FROM Person WHERE name IN (?, ?)",
+                    new Object[]{"COMMITTED", "ROLLED_BACK"},
+                    row -> row.getString(1)
+                )
+            );
+            assertEquals(Collections.singletonList("COMMITTED"), names);
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person WHERE name IN ('COMMITTED', 'ROLLED_BACK')");
+        }
+    }
+
+    @Test void inTransaction_retriesSerializationFailureOnNewConnection() throws SQLException {
+        ConnectionManager mockConnectionManager = mock(ConnectionManager.class);
+        DataSource mockDataSource = mock(DataSource.class);
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        when(mockConnectionManager.getDataSource(config)).thenReturn(mockDataSource);
+        when(mockDataSource.getConnection()).thenReturn(first, second);
+
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        databaseHelper.setConnectionManager(mockConnectionManager);
+        List<Connection> attempts = new ArrayList<>();
+        String result = databaseHelper.inTransaction(
+            TransactionOptions.builder().initialBackoff(0).maxBackoff(0).build(),
+            transaction -> {
+                attempts.add(((TransactionImpl) transaction).getConnection());
+                if(attempts.size() == 1) {
+                    throw new DatabaseHelperSQLException(new SQLException("could not serialize access", "40001"));
+                }
+                return "committed";
+            }
+        );
+        assertEquals("committed", result);
+        assertEquals(Arrays.asList(first, second), attempts);
+        // the failed attempt is rolled back and its connection returned before the retry
+        verify(first, times(1)).rollback();
+        verify(first, never()).commit();
+        verify(first, atLeastOnce()).close();
+        verify(second, times(1)).commit();
+        verify(second, atLeastOnce()).close();
+    }
+
+    @Test void inTransaction_invalidParameters() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException exception = assertThrows(
+            NullPointerException.class,
+            () -> databaseHelper.inTransaction(null, transaction -> 1)
+        );
+        assertEquals("Null options supplied", exception.getMessage());
+
+        exception = assertThrows(NullPointerException.class, () -> databaseHelper.inTransaction(null));
+        assertEquals("Null work supplied", exception.getMessage());
+    }
 }
@@ -2,7 +2,10 @@ package com.github.mdennis10.jdbc_helper;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DbConfigTest {
     private static final DbConfig config = new DbConfig(
@@ -38,4 +41,82 @@ public class DbConfigTest {
                 () -> new DbConfig(config.getPassword(), config.getPassword(),config.getUrl(),"")
         );
     }
-}
\ No newline at end of file
+
+    @Test void equalsAndHashCodeTest() {
+        DbConfig same = new DbConfig("sa", "pass@4d1", "jdbc:h2:file:~/helper_test", "org.h2.Driver");
+        assertEquals(config, same);
+        assertEquals(config.hashCode(), same.hashCode());
+        assertNotEquals(config, new DbConfig("sa", "other", config.getUrl(), config.getDriverClassName()));
+
+        // password is optional
+        DbConfig noPassword = new DbConfig("sa", null, config.getUrl(), config.getDriverClassName());
+        assertEquals(noPassword, new DbConfig("sa", null, config.getUrl(), config.getDriverClassName()));
+        assertNotEquals(noPassword, config);
+        assertNotEquals(config, noPassword);
+    }
+
+    @Test void builderTest() {
+        DbConfig defaults = DbConfig.builder("sa", "pass@4d1", "jdbc:h2:file:~/helper_test", "org.h2.Driver").build();
+        assertEquals(config, defaults);
+        assertEquals(DbConfig.DEFAULT_MAXIMUM_POOL_SIZE, defaults.getMaximumPoolSize());
+        assertEquals(DbConfig.DEFAULT_MINIMUM_IDLE, defaults.getMinimumIdle());
+        assertTrue(defaults.getDataSourceProperties().isEmpty());
+
+        DbConfig replica = DbConfig.builder("sa", "pass@4d1", "jdbc:h2:file:~/helper_test", "org.h2.Driver")
+                .maximumPoolSize(4)
+                .minimumIdle(1)
+                .maxLifetime(60_000)
+                .idleTimeout(30_000)
+                .connectionTimeout(5_000)
+                .connectionInitSql("SELECT 1")
+                .leakDetectionThreshold(10_000)
+                .dataSourceProperty("cachePrepStmts", "true")
+                .build();
+        assertEquals(4, replica.getMaximumPoolSize());
+        assertEquals(1, replica.getMinimumIdle());
+        assertEquals(60_000, replica.getMaxLifetime());
+        assertEquals(30_000, replica.getIdleTimeout());
+        assertEquals(5_000, replica.getConnectionTimeout());
+        assertEquals("SELECT 1", replica.getConnectionInitSql());
+        assertEquals(10_000, replica.getLeakDetectionThreshold());
+        assertEquals("true", replica.getDataSourceProperties().get("cachePrepStmts"));
+
+        // pool settings are part of the pool lookup key
+        assertNotEquals(config, replica);
+        assertEquals(replica, DbConfig.builder("sa", "pass@4d1", "jdbc:h2:file:~/helper_test", "org.h2.Driver")
+                .maximumPoolSize(4)
+                .minimumIdle(1)
+                .maxLifetime(60_000)
+                .idleTimeout(30_000)
+                .connectionTimeout(5_000)
+                .connectionInitSql("SELECT 1")
+                .leakDetectionThreshold(10_000)
+                .dataSourceProperty("cachePrepStmts", "true")
+                .build());
+    }
+
+    @Test void builderParametersTest() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> DbConfig.builder("sa", null, config.getUrl(), config.getDriverClassName()).maximumPoolSize(0).build()
+        );
+        assertEquals("maximumPoolSize must be greater than zero", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> DbConfig.builder("sa", null, config.getUrl(), config.getDriverClassName()).maximumPoolSize(4).minimumIdle(5).build()
+        );
+        assertEquals("minimumIdle must not exceed maximumPoolSize", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> DbConfig.builder("sa", null, config.getUrl(), config.getDriverClassName()).leakDetectionThreshold(-1).build()
+        );
+        assertEquals("leakDetectionThreshold must not be negative", exception.getMessage());
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> DbConfig.builder(null, null, config.getUrl(), config.getDriverClassName()).build()
+        );
+    }
+}
@@ -5,7 +5,13 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,6 +67,54 @@ class HikariConnectionManagerTest {
         assertNotEquals(dataSource.getPoolName(), connectionManager.getDataSource(config).getPoolName());
     }
 
+    @Test void getDataSource_concurrentLookupsCreateSinglePool() throws InterruptedException, ExecutionException {
+        HikariConnectionManager connectionManager = HikariConnectionManager.getInstance();
+        HikariDataSource closedDataSource = connectionManager.getDataSource(config);
+        closedDataSource.close();
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<HikariDataSource>> futures = new ArrayList<>();
+            for(int x = 0; x < threads; x++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return connectionManager.getDataSource(config);
+                }));
+            }
+            start.countDown();
+            // every caller racing to replace the closed pool receives the same new pool
+            HikariDataSource dataSource = futures.get(0).get();
+            assertNotSame(closedDataSource, dataSource);
+            assertFalse(dataSource.isClosed());
+            for(Future<HikariDataSource> future : futures) {
+                assertSame(dataSource, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test void createDataSource_appliesPoolSettings() {
+        DbConfig replica = DbConfig.builder("sa", "", "jdbc:h2:mem:replica_pool;DB_CLOSE_DELAY=-1", "org.h2.Driver")
+                .maximumPoolSize(4)
+                .minimumIdle(1)
+                .connectionTimeout(5_000)
+                .connectionInitSql("SELECT 1")
+                .leakDetectionThreshold(10_000)
+                .dataSourceProperty("LOCK_TIMEOUT", "10000")
+                .build();
+        try (HikariDataSource dataSource = HikariConnectionManager.createDataSource(replica)) {
+            assertEquals(4, dataSource.getMaximumPoolSize());
+            assertEquals(1, dataSource.getMinimumIdle());
+            assertEquals(5_000, dataSource.getConnectionTimeout());
+            assertEquals("SELECT 1", dataSource.getConnectionInitSql());
+            assertEquals(10_000, dataSource.getLeakDetectionThreshold());
+            assertEquals("10000", dataSource.getDataSourceProperties().getProperty("LOCK_TIMEOUT"));
+        }
+    }
+
     @Test void close () throws IOException {
         HikariConnectionManager connectionManager = HikariConnectionManager.getInstance();
         // initialize two dataSource
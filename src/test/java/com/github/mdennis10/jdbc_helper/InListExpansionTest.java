@@ -0,0 +1,92 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InListExpansionTest {
+
+    @Test void expand_padsToPowerOfTwo() {
+        List<InListExpansion.Chunk> chunks = InListExpansion.expand(
+            "SELECT * FROM Orders WHERE status = ? AND id IN (?) AND note <> '?'",
+            new Object[]{"OPEN", Arrays.asList(1L, 2L, 3L)},
+            false
+        );
+        assertEquals(1, chunks.size());
+        assertEquals("SELECT * FROM Orders WHERE status = ? AND id IN (?, ?, ?, ?) AND note <> '?'", chunks.get(0).getSql());
+        // the last element is repeated to fill the bucket
+        assertArrayEquals(new Object[]{"OPEN", 1L, 2L, 3L, 3L}, chunks.get(0).getArguments());
+
+        chunks = InListExpansion.expand("SELECT * FROM Orders WHERE id IN (?)", new Object[]{Collections.singletonList(1L)}, false);
+        assertEquals("SELECT * FROM Orders WHERE id IN (?)", chunks.get(0).getSql());
+    }
+
+    @Test void expand_splitsLargeLists() {
+        List<Integer> ids = IntStream.rangeClosed(1, 2100).boxed().collect(Collectors.toList());
+        ids.add(1);
+        List<InListExpansion.Chunk> chunks = InListExpansion.expand(
+            "SELECT * FROM Orders WHERE id IN (?) AND status IN (?)",
+            new Object[]{ids, Arrays.asList("OPEN", "HELD")},
+            true
+        );
+        assertEquals(3, chunks.size());
+        assertEquals(InListExpansion.MAX_LIST_SIZE + 2, chunks.get(0).getArguments().length);
+        assertEquals(InListExpansion.MAX_LIST_SIZE + 2, chunks.get(1).getArguments().length);
+        // duplicates are dropped, leaving 100 ids for the last chunk padded to 128
+        Object[] last = chunks.get(2).getArguments();
+        assertEquals(128 + 2, last.length);
+        assertEquals(2001, last[0]);
+        assertEquals(2100, last[127]);
+        assertEquals("HELD", last[129]);
+    }
+
+    @Test void expand_invalidParameters() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> InListExpansion.expand("SELECT * FROM Orders WHERE id IN (?)", new Object[]{Collections.emptyList()}, false)
+        );
+        assertEquals("Empty collection supplied for parameter 1", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> InListExpansion.expand("SELECT * FROM Orders WHERE id IN (?)", new Object[]{Arrays.asList(1, 2), "OPEN"}, false)
+        );
+        assertEquals("sql has 1 parameters but 2 arguments supplied", exception.getMessage());
+
+        List<Integer> ids = IntStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> InListExpansion.expand("SELECT * FROM Orders WHERE id IN (?) OR parent IN (?)", new Object[]{ids, ids}, true)
+        );
+        assertEquals("Only one collection may have more than 1000 elements", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> InListExpansion.expand("SELECT * FROM Orders WHERE id IN (?)", new Object[]{ids}, false)
+        );
+        assertEquals("Collection supplied for parameter 1 has more than 1000 elements", exception.getMessage());
+    }
+
+    @Test void largeListsOnlySplitForListQueries() {
+        List<Integer> ids = IntStream.rangeClosed(1, 1500).boxed().collect(Collectors.toList());
+        String sql = "DELETE FROM Orders WHERE id NOT IN (?)";
+        assertThrows(IllegalArgumentException.class, () -> InListExpansion.executeUpdate(sql, new Object[]{ids}, (s, a) -> 1));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InListExpansion.query("SELECT COUNT(*) FROM Orders WHERE id IN (?)", new Object[]{ids}, (s, a) -> Optional.of(1))
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InListExpansion.queryForList("SELECT * FROM Orders WHERE id IN (?)", new Object[]{ids}, false, (s, a) -> Arrays.asList(a))
+        );
+        List<Object> rows = InListExpansion.queryForList("SELECT * FROM Orders WHERE id IN (?)", new Object[]{ids}, true, (s, a) -> Arrays.asList(a));
+        assertEquals(1000 + 512, rows.size());
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.InMemoryMetricsCollector.HistogramSnapshot;
+import com.github.mdennis10.jdbc_helper.InMemoryMetricsCollector.SqlStatistics;
+import com.github.mdennis10.jdbc_helper.MetricsCollector.Phase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryMetricsCollectorTest {
+    private static final DbConfig config = new DbConfig(
+            "sa",
+            "pass@4d1",
+            "jdbc:h2:file:~/helper_test",
+            "org.h2.Driver"
+    );
+
+    @BeforeAll public static void setup() throws SQLException, ClassNotFoundException {
+        SqlUtil.executeUpdate(config, "CREATE TABLE Person(name varchar(50))");
+    }
+
+    @AfterAll public static void tearDown() throws SQLException, ClassNotFoundException, IOException {
+        SqlUtil.executeUpdate(config, "DROP TABLE Person");
+        DatabaseHelper.close();
+    }
+
+    @Test void fingerprintOf() {
+        assertEquals(
+            "SELECT * FROM Person WHERE name = ? AND age > ?",
+            InMemoryMetricsCollector.fingerprintOf("SELECT *  FROM Person\n WHERE name = 'O''Brien' AND age > 21")
+        );
+        assertEquals(
+            "SELECT * FROM t1 WHERE id IN (?+)",
+            InMemoryMetricsCollector.fingerprintOf("SELECT * FROM t1 WHERE id IN (?, ?, ?)")
+        );
+        assertEquals(
+            InMemoryMetricsCollector.fingerprintOf("SELECT * FROM t1 WHERE id IN (1, 2)"),
+            InMemoryMetricsCollector.fingerprintOf("SELECT * FROM t1 WHERE id IN (7, 8, 9, 10)")
+        );
+    }
+
+    @Test void recordPhase_percentiles() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        for(int x = 1; x <= 1000; x++) {
+            collector.recordPhase(Phase.EXECUTE, "SELECT 1", x * 1000L);
+        }
+        HistogramSnapshot latency = collector.getStatistics().get("SELECT ?").getLatency(Phase.EXECUTE);
+        assertEquals(1000, latency.getCount());
+        assertEquals(1_000_000, latency.getMax());
+        assertEquals(500_500, latency.getMean(), 0.001);
+        assertWithinBucketError(500_000, latency.getPercentile(50));
+        assertWithinBucketError(990_000, latency.getPercentile(99));
+        assertEquals(1_000_000, latency.getPercentile(100));
+        assertEquals(0, collector.getStatistics().get("SELECT ?").getLatency(Phase.MAPPING).getCount());
+    }
+
+    @Test void getSlowest() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        collector.recordPhase(Phase.EXECUTE, "SELECT * FROM Fast", 1_000);
+        collector.recordPhase(Phase.EXECUTE, "SELECT * FROM Slow", 5_000_000);
+        collector.recordPhase(Phase.EXECUTE, "SELECT * FROM Medium", 200_000);
+
+        List<SqlStatistics> slowest = collector.getSlowest(Phase.EXECUTE, 99, 2);
+        assertEquals(2, slowest.size());
+        assertEquals("SELECT * FROM Slow", slowest.get(0).getFingerprint());
+        assertEquals("SELECT * FROM Medium", slowest.get(1).getFingerprint());
+    }
+
+    @Test void databaseHelper_recordsMetrics() throws SQLException, ClassNotFoundException {
+        try {
+            InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+            DatabaseHelper databaseHelper = new DatabaseHelper(config, collector);
+            String insertSql = "INSERT INTO Person(name) VALUES(?)";
+            List<Object[]> rows = new ArrayList<>();
+            for(int x = 0; x < 5; x++) {
+                rows.add(new Object[]{"JohnDoe" + x});
+            }
+            databaseHelper.executeBatchUpdate(insertSql, rows);
+            databaseHelper.queryForList("SELECT * FROM Person", new Object[]{}, row -> row.get("NAME"));
+
+            Transaction transaction = databaseHelper.getTransaction();
+            transaction.executeUpdate(insertSql, new Object[]{"JaneDoe"});
+            transaction.commit();
+
+            Map<String, SqlStatistics> statistics = collector.getStatistics();
+            SqlStatistics insert = statistics.get(insertSql);
+            assertEquals(2, insert.getLatency(Phase.PREPARE).getCount());
+            assertEquals(2, insert.getLatency(Phase.EXECUTE).getCount());
+            assertEquals(6, insert.getRows());
+            assertEquals(1, insert.getBatchSizes().getCount());
+            assertEquals(5, insert.getBatchSizes().getMax());
+
+            SqlStatistics select = statistics.get("SELECT * FROM Person");
+            assertEquals(1, select.getLatency(Phase.EXECUTE).getCount());
+            assertEquals(1, select.getLatency(Phase.MAPPING).getCount());
+            assertEquals(5, select.getRows());
+
+            assertEquals(1, statistics.get(Phase.COMMIT.name()).getLatency(Phase.COMMIT).getCount());
+            assertEquals(3, collector.getConnectionWait().getCount());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void disabled_recordsNothing() throws SQLException, ClassNotFoundException {
+        try {
+            InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+            collector.setEnabled(false);
+            DatabaseHelper databaseHelper = new DatabaseHelper(config, collector);
+            databaseHelper.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"JaneDoe"});
+            assertTrue(collector.getStatistics().isEmpty());
+            assertEquals(0, collector.getConnectionWait().getCount());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void invalidArguments() {
+        NullPointerException exception = assertThrows(NullPointerException.class, () -> new DatabaseHelper(config, (MetricsCollector) null));
+        assertEquals("Null metrics supplied", exception.getMessage());
+
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        IllegalArgumentException illegalArgument = assertThrows(IllegalArgumentException.class, () -> collector.getSlowest(Phase.EXECUTE, 0, 1));
+        assertEquals("percentile must be greater than 0 and at most 100", illegalArgument.getMessage());
+    }
+
+    private static void assertWithinBucketError(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, "expected " + expected + " but was " + actual);
+    }
+}
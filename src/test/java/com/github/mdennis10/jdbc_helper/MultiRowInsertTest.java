@@ -0,0 +1,41 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiRowInsertTest {
+
+    @Test void sql_repeatsValuesTuple() {
+        MultiRowInsert insert = MultiRowInsert.parse("INSERT INTO Person(name, age) VALUES (?, ?)");
+        assertEquals(2, insert.getParameterCount());
+        assertEquals("INSERT INTO Person(name, age) VALUES (?, ?)", insert.sql(1));
+        assertEquals("INSERT INTO Person(name, age) VALUES (?, ?), (?, ?), (?, ?)", insert.sql(3));
+        assertSame(insert.sql(3), insert.sql(3));
+        assertSame(insert, MultiRowInsert.parse("INSERT INTO Person(name, age) VALUES (?, ?)"));
+    }
+
+    @Test void sql_keepsLiteralsAndTrailingClause() {
+        MultiRowInsert insert = MultiRowInsert.parse(
+            "insert into Person(name, note, created) values(?, 'why?)', now()) ON CONFLICT DO NOTHING"
+        );
+        assertEquals(1, insert.getParameterCount());
+        assertEquals(
+            "insert into Person(name, note, created) values(?, 'why?)', now()), (?, 'why?)', now()) ON CONFLICT DO NOTHING",
+            insert.sql(2)
+        );
+    }
+
+    @Test void parse_rejectsOtherStatements() {
+        String[] invalid = {
+            "UPDATE Person SET name = ?",
+            "INSERT INTO Person(name) SELECT name FROM Employee",
+            "INSERT INTO Person(name) VALUES (?), (?)",
+            "INSERT INTO Person(name) VALUES (?"
+        };
+        for(String sql : invalid) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> MultiRowInsert.parse(sql));
+            assertEquals("sql must be a single row INSERT ... VALUES (...) statement", exception.getMessage());
+        }
+    }
+}
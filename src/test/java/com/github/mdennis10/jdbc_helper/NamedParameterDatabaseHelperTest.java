@@ -0,0 +1,79 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.model.Person;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamedParameterDatabaseHelperTest {
+    private static final DbConfig config = new DbConfig(
+            "sa",
+            "pass@4d1",
+            "jdbc:h2:file:~/helper_test",
+            "org.h2.Driver"
+    );
+
+    @BeforeAll static void setup() throws SQLException, ClassNotFoundException {
+        SqlUtil.executeUpdate(config, "CREATE TABLE Person(name varchar(50))");
+    }
+
+    @AfterAll static void tearDown() throws SQLException, ClassNotFoundException, IOException {
+        SqlUtil.executeUpdate(config, "DROP TABLE Person");
+        DatabaseHelper.close();
+    }
+
+    @Test void executeUpdateAndQuery() throws SQLException, ClassNotFoundException {
+        NamedParameterDatabaseHelper helper = new NamedParameterDatabaseHelper(new DatabaseHelper(config));
+        try {
+            Person person = new Person();
+            person.setName("JohnDoe");
+            assertEquals(1, helper.executeUpdate("INSERT INTO Person(name) VALUES(:name)", person));
+            int[] result = helper.executeBatchUpdate(
+                "INSERT INTO Person(name) VALUES(:name)",
+                Arrays.asList(Collections.singletonMap("name", "JaneDoe"), Collections.singletonMap("name", "JoeDoe"))
+            );
+            assertArrayEquals(new int[]{1, 1}, result);
+
+            Optional<Person> found = helper.query(
+                Person.class,
+                "SELECT * FROM Person WHERE name = :name",
+                Collections.singletonMap("name", "JaneDoe")
+            );
+            assertTrue(found.isPresent());
+            assertEquals("JaneDoe", found.get().getName());
+
+            List<String> names = helper.queryRows(
+                "SELECT name FROM Person WHERE name <> :name ORDER BY name",
+                person,
+                row -> row.getString(1)
+            );
+            assertEquals(Arrays.asList("JaneDoe", "JoeDoe"), names);
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void query_invalidParameters() {
+        NamedParameterDatabaseHelper helper = new NamedParameterDatabaseHelper(new DatabaseHelper(config));
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> helper.queryForList(Person.class, "", Collections.emptyMap())
+        );
+        assertEquals("Null or empty sql argument supplied", exception.getMessage());
+
+        NullPointerException nullException = assertThrows(
+            NullPointerException.class,
+            () -> helper.queryForList(Person.class, "SELECT * FROM Person WHERE name = :name", null)
+        );
+        assertEquals("Null parameters supplied", nullException.getMessage());
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamedParameterSqlTest {
+
+    @Test void parse() {
+        NamedParameterSql named = NamedParameterSql.parse(
+            "SELECT * FROM Person WHERE name = :name OR (age > :age AND nickname = :name)"
+        );
+        assertEquals("SELECT * FROM Person WHERE name = ? OR (age > ? AND nickname = ?)", named.getSql());
+        assertArrayEquals(new String[]{"name", "age"}, named.getNames());
+        // each distinct statement is only parsed once
+        assertSame(named, NamedParameterSql.parse("SELECT * FROM Person WHERE name = :name OR (age > :age AND nickname = :name)"));
+    }
+
+    @Test void parse_ignoresQuotedTextCommentsAndCasts() {
+        NamedParameterSql named = NamedParameterSql.parse(
+            "SELECT ':skip', \"col:skip\", created::date -- :skip\n FROM Person /* :skip ? */ WHERE name = :name"
+        );
+        assertEquals(
+            "SELECT ':skip', \"col:skip\", created::date -- :skip\n FROM Person /* :skip ? */ WHERE name = ?",
+            named.getSql()
+        );
+        assertArrayEquals(new String[]{"name"}, named.getNames());
+    }
+
+    @Test void parse_rejectsPositionalParameters() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> NamedParameterSql.parse("SELECT * FROM Person WHERE name = :name AND age = ?")
+        );
+        assertEquals("sql must not mix named and positional parameters", exception.getMessage());
+    }
+
+    @Test void bind_map() {
+        NamedParameterSql named = NamedParameterSql.parse("UPDATE Person SET age = :age WHERE name = :name OR name = :name");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("name", "JohnDoe");
+        parameters.put("age", null);
+        assertArrayEquals(new Object[]{null, "JohnDoe", "JohnDoe"}, named.bind(parameters));
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> named.bind(Collections.singletonMap("name", "JohnDoe"))
+        );
+        assertEquals("No value supplied for parameter :age", exception.getMessage());
+    }
+
+    @Test void bind_bean() {
+        NamedParameterSql named = NamedParameterSql.parse("INSERT INTO Person(name, age) VALUES(:name, :AGE)");
+        Person person = new Person();
+        person.setName("JaneDoe");
+        person.setAge(32);
+        assertArrayEquals(new Object[]{"JaneDoe", 32}, named.bind(person));
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> NamedParameterSql.parse("SELECT * FROM Person WHERE name = :nickname").bind(person)
+        );
+        assertEquals("No field of " + Person.class.getName() + " matches parameter :nickname", exception.getMessage());
+    }
+}
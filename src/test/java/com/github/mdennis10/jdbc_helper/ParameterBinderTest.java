@@ -0,0 +1,103 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+
+class ParameterBinderTest {
+
+    @Test void bind_usesTypedSetters() throws SQLException {
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        Timestamp timestamp = new Timestamp(0);
+        LocalDate date = LocalDate.of(2020, 1, 1);
+
+        ParameterBinder.bind(
+            mockPrepStmt,
+            "INSERT INTO Person(id, name, score, created, birthday, active) VALUES(?, ?, ?, ?, ?, ?)",
+            new Object[]{5L, "JohnDoe", BigDecimal.TEN, timestamp, date, true},
+            0
+        );
+        verify(mockPrepStmt).setLong(1, 5L);
+        verify(mockPrepStmt).setString(2, "JohnDoe");
+        verify(mockPrepStmt).setBigDecimal(3, BigDecimal.TEN);
+        verify(mockPrepStmt).setTimestamp(4, timestamp);
+        // classes without a typed setter are still bound with setObject
+        verify(mockPrepStmt).setObject(5, date);
+        verify(mockPrepStmt).setBoolean(6, true);
+    }
+
+    @Test void bind_offset() throws SQLException {
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        ParameterBinder.bind(mockPrepStmt, "INSERT INTO Person(name, age) VALUES(?, ?), (?, ?)", new Object[]{"JaneDoe", 32}, 2);
+        verify(mockPrepStmt).setString(3, "JaneDoe");
+        verify(mockPrepStmt).setInt(4, 32);
+    }
+
+    @Test void bind_nullUsesCachedParameterType() throws SQLException {
+        String sql = "UPDATE Person SET age = ? WHERE name = ? AND ParameterBinderTest = 1";
+        PreparedStatement mockPrepStmt = mockStatement("jdbc:h2:mem:primary");
+        ParameterMetaData mockMetaData = mock(ParameterMetaData.class);
+        when(mockPrepStmt.getParameterMetaData()).thenReturn(mockMetaData);
+        when(mockMetaData.getParameterCount()).thenReturn(2);
+        when(mockMetaData.getParameterType(1)).thenReturn(Types.INTEGER);
+        when(mockMetaData.getParameterType(2)).thenReturn(Types.VARCHAR);
+
+        ParameterBinder.bind(mockPrepStmt, sql, new Object[]{null, "JohnDoe"}, 0);
+        ParameterBinder.bind(mockPrepStmt, sql, new Object[]{null, null}, 0);
+        verify(mockPrepStmt, times(2)).setNull(1, Types.INTEGER);
+        verify(mockPrepStmt, times(1)).setNull(2, Types.VARCHAR);
+        verify(mockPrepStmt, times(1)).getParameterMetaData();
+    }
+
+    @Test void bind_nullWithoutParameterMetaData() throws SQLException {
+        String sql = "UPDATE Person SET name = ? WHERE ParameterBinderTest = 2";
+        PreparedStatement mockPrepStmt = mockStatement("jdbc:h2:mem:primary");
+        when(mockPrepStmt.getParameterMetaData()).thenThrow(new SQLFeatureNotSupportedException());
+
+        ParameterBinder.bind(mockPrepStmt, sql, new Object[]{null}, 0);
+        ParameterBinder.bind(mockPrepStmt, sql, new Object[]{null}, 0);
+        verify(mockPrepStmt, times(2)).setNull(1, Types.NULL);
+        verify(mockPrepStmt, times(1)).getParameterMetaData();
+    }
+
+    @Test void bind_nullParameterTypesCachedPerDatabase() throws SQLException {
+        String sql = "UPDATE Person SET age = ? WHERE ParameterBinderTest = 3";
+        PreparedStatement primaryStmt = mockStatement("jdbc:h2:mem:primary");
+        PreparedStatement otherStmt = mockStatement("jdbc:h2:mem:other");
+        ParameterMetaData primaryMetaData = mock(ParameterMetaData.class);
+        ParameterMetaData otherMetaData = mock(ParameterMetaData.class);
+        when(primaryStmt.getParameterMetaData()).thenReturn(primaryMetaData);
+        when(primaryMetaData.getParameterCount()).thenReturn(1);
+        when(primaryMetaData.getParameterType(1)).thenReturn(Types.INTEGER);
+        when(otherStmt.getParameterMetaData()).thenReturn(otherMetaData);
+        when(otherMetaData.getParameterCount()).thenReturn(1);
+        when(otherMetaData.getParameterType(1)).thenReturn(Types.VARCHAR);
+
+        ParameterBinder.bind(primaryStmt, sql, new Object[]{null}, 0);
+        ParameterBinder.bind(otherStmt, sql, new Object[]{null}, 0);
+        verify(primaryStmt).setNull(1, Types.INTEGER);
+        verify(otherStmt).setNull(1, Types.VARCHAR);
+    }
+
+    private static PreparedStatement mockStatement(String url) throws SQLException {
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        Connection mockConnection = mock(Connection.class);
+        DatabaseMetaData mockDatabaseMetaData = mock(DatabaseMetaData.class);
+        when(mockPrepStmt.getConnection()).thenReturn(mockConnection);
+        when(mockConnection.getMetaData()).thenReturn(mockDatabaseMetaData);
+        when(mockDatabaseMetaData.getURL()).thenReturn(url);
+        when(mockDatabaseMetaData.getUserName()).thenReturn("sa");
+        return mockPrepStmt;
+    }
+}
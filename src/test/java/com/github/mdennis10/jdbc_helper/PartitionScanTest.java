@@ -0,0 +1,89 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionScanTest {
+    private static final List<Partitioning.Slice> SLICES = Partitioning.range("id", 1, 6, 6).slices("SELECT * FROM Item", new Object[]{});
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test void toList_slicesInFlightLimitedToParallelism() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximum = new AtomicInteger();
+        PartitionScan<Object> scan = new PartitionScan<>(SLICES, slice -> {
+            maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(20);
+            running.decrementAndGet();
+            return Collections.singletonList(slice.getArguments()[0]);
+        }, 2, executor);
+
+        assertEquals(Arrays.<Object>asList(1L, 2L, 3L, 4L, 5L, 6L), scan.toList());
+        assertEquals(2, maximum.get());
+    }
+
+    @Test void toList_failedSliceSkipsPendingSlices() {
+        AtomicInteger executions = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("slice failed");
+        PartitionScan<Object> scan = new PartitionScan<>(SLICES, slice -> {
+            if(executions.incrementAndGet() == 2) {
+                throw failure;
+            }
+            return Collections.singletonList(slice.getArguments()[0]);
+        }, 1, executor);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, scan::toList));
+        assertEquals(2, executions.get());
+    }
+
+    @Test void toStream_closeCancelsPendingSlices() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PartitionScan<Object> scan = new PartitionScan<>(SLICES, slice -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return Collections.singletonList(slice.getArguments()[0]);
+        }, 1, executor);
+
+        Stream<Object> rows = scan.toStream();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        rows.close();
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitioningTest {
+
+    @Test void slices() {
+        List<Partitioning.Slice> slices = Partitioning.range("id", 1, 10, 3)
+                .slices("SELECT * FROM Orders WHERE status = ? AND {partition} ORDER BY id", new Object[]{"OPEN"});
+        assertEquals(3, slices.size());
+        assertEquals("SELECT * FROM Orders WHERE status = ? AND (id >= ? AND id < ?) ORDER BY id", slices.get(0).getSql());
+        assertArrayEquals(new Object[]{"OPEN", 1L, 4L}, slices.get(0).getArguments());
+        assertArrayEquals(new Object[]{"OPEN", 4L, 7L}, slices.get(1).getArguments());
+        // the last slice includes the upper bound
+        assertEquals("SELECT * FROM Orders WHERE status = ? AND (id >= ? AND id <= ?) ORDER BY id", slices.get(2).getSql());
+        assertArrayEquals(new Object[]{"OPEN", 7L, 10L}, slices.get(2).getArguments());
+    }
+
+    @Test void slices_boundsBoundAtPlaceholder() {
+        List<Partitioning.Slice> slices = Partitioning.range("o.id", 0, 99, 2)
+                .slices("SELECT * FROM Orders o WHERE o.note <> '{partition}?' AND {partition} AND o.status = ?", new Object[]{"OPEN"});
+        assertEquals("SELECT * FROM Orders o WHERE o.note <> '{partition}?' AND (o.id >= ? AND o.id < ?) AND o.status = ?", slices.get(0).getSql());
+        assertArrayEquals(new Object[]{0L, 50L, "OPEN"}, slices.get(0).getArguments());
+        assertArrayEquals(new Object[]{50L, 99L, "OPEN"}, slices.get(1).getArguments());
+    }
+
+    @Test void slices_derivedTableWithoutPlaceholder() {
+        List<Partitioning.Slice> slices = Partitioning.range("id", Long.MIN_VALUE, Long.MAX_VALUE, 2)
+                .slices("SELECT id, name FROM Orders WHERE status = ?", new Object[]{"OPEN"});
+        assertEquals(2, slices.size());
+        assertEquals(
+            "SELECT * FROM (SELECT id, name FROM Orders WHERE status = ?) partition_slice WHERE (id >= ? AND id < ?)",
+            slices.get(0).getSql()
+        );
+        assertArrayEquals(new Object[]{"OPEN", Long.MIN_VALUE, 0L}, slices.get(0).getArguments());
+        assertArrayEquals(new Object[]{"OPEN", 0L, Long.MAX_VALUE}, slices.get(1).getArguments());
+    }
+
+    @Test void slices_narrowRange() {
+        List<Partitioning.Slice> slices = Partitioning.range("id", 5, 6, 8).slices("SELECT * FROM Orders", new Object[]{});
+        assertEquals(2, slices.size());
+        assertArrayEquals(new Object[]{5L, 6L}, slices.get(0).getArguments());
+        assertArrayEquals(new Object[]{6L, 6L}, slices.get(1).getArguments());
+    }
+
+    @Test void range_invalidParameters() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> Partitioning.range("", 1, 10, 2)
+        );
+        assertEquals("Null or empty column supplied", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> Partitioning.range("id", 10, 1, 2)
+        );
+        assertEquals("lowerBound must not be greater than upperBound", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> Partitioning.range("id", 1, 10, 0)
+        );
+        assertEquals("partitions must be greater than zero", exception.getMessage());
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.model.Person;
+import com.google.common.cache.CacheStats;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryCacheTest {
+    private static final DbConfig config = new DbConfig(
+            "sa",
+            "pass@4d1",
+            "jdbc:h2:file:~/helper_test",
+            "org.h2.Driver"
+    );
+    private static final ColumnMapper<Object> NAME_MAPPER = row -> row.get("NAME");
+    private static final CachePolicy PERSON_POLICY = CachePolicy.expireAfter(1, TimeUnit.MINUTES, "Person");
+
+    @BeforeAll public static void setup() throws SQLException, ClassNotFoundException {
+        SqlUtil.executeUpdate(config, "CREATE TABLE Person(name varchar(50))");
+    }
+
+    @AfterAll public static void tearDown() throws SQLException, ClassNotFoundException, IOException {
+        SqlUtil.executeUpdate(config, "DROP TABLE Person");
+        DatabaseHelper.close();
+    }
+
+    @Test void queryForList_cachedUntilTagInvalidated() throws SQLException, ClassNotFoundException {
+        try {
+            QueryCache queryCache = new QueryCache(1000);
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            databaseHelper.setQueryCache(queryCache);
+            SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JohnDoe')");
+
+            String sql = "SELECT * FROM Person";
+            assertEquals(1, databaseHelper.queryForList(sql, new Object[]{}, NAME_MAPPER, PERSON_POLICY).size());
+            // written behind the helper's back, so the cached result is still served
+            SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JaneDoe')");
+            List<Object> cached = databaseHelper.queryForList(sql, new Object[]{}, NAME_MAPPER, PERSON_POLICY);
+            assertEquals(1, cached.size());
+            assertThrows(UnsupportedOperationException.class, () -> cached.add("JaneDoe"));
+
+            databaseHelper.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"MaryDoe"}, "Person");
+            assertEquals(3, databaseHelper.queryForList(sql, new Object[]{}, NAME_MAPPER, PERSON_POLICY).size());
+            List<Person> people = databaseHelper.queryForList(Person.class, sql, new Object[]{}, PERSON_POLICY);
+            assertEquals(3, people.size());
+            assertSame(people, databaseHelper.queryForList(Person.class, sql, new Object[]{}, PERSON_POLICY));
+
+            CacheStats stats = queryCache.getStats();
+            assertEquals(2, stats.hitCount());
+            assertEquals(3, stats.missCount());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void query_keyedByArguments() throws SQLException, ClassNotFoundException {
+        try {
+            QueryCache queryCache = new QueryCache(1000);
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            databaseHelper.setQueryCache(queryCache);
+            SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JohnDoe')");
+
+            String sql = "SELECT * FROM Person WHERE name = ?";
+            assertTrue(databaseHelper.query(sql, new Object[]{"JohnDoe"}, NAME_MAPPER, PERSON_POLICY).isPresent());
+            assertFalse(databaseHelper.query(sql, new Object[]{"JaneDoe"}, NAME_MAPPER, PERSON_POLICY).isPresent());
+            assertTrue(databaseHelper.query(Person.class, sql, new Object[]{"JohnDoe"}, PERSON_POLICY).isPresent());
+            assertTrue(databaseHelper.query(sql, new Object[]{"JohnDoe"}, NAME_MAPPER, PERSON_POLICY).isPresent());
+            assertEquals(3, queryCache.size());
+            assertEquals(1, queryCache.getStats().hitCount());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void query_expiredAfterTtl() throws SQLException, ClassNotFoundException {
+        try {
+            QueryCache queryCache = new QueryCache(1000);
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            databaseHelper.setQueryCache(queryCache);
+            CachePolicy policy = CachePolicy.expireAfter(1, TimeUnit.NANOSECONDS);
+            String sql = "SELECT * FROM Person";
+
+            assertTrue(databaseHelper.queryForList(sql, new Object[]{}, NAME_MAPPER, policy).isEmpty());
+            SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JohnDoe')");
+            assertEquals(1, databaseHelper.queryForList(sql, new Object[]{}, NAME_MAPPER, policy).size());
+            assertEquals(0, queryCache.getStats().hitCount());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void queryForList_evictedOverMaximumWeight() throws SQLException, ClassNotFoundException {
+        try {
+            QueryCache queryCache = new QueryCache(1);
+            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+            databaseHelper.setQueryCache(queryCache);
+            SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JohnDoe')");
+            SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JaneDoe')");
+
+            assertEquals(2, databaseHelper.queryForList("SELECT * FROM Person", new Object[]{}, NAME_MAPPER, PERSON_POLICY).size());
+            assertEquals(0, queryCache.size());
+            assertEquals(1, queryCache.getStats().evictionCount());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void invalidArguments() {
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        NullPointerException exception = assertThrows(
+            NullPointerException.class,
+            () -> databaseHelper.queryForList("SELECT * FROM Person", new Object[]{}, NAME_MAPPER, null)
+        );
+        assertEquals("Null cache policy supplied", exception.getMessage());
+
+        IllegalArgumentException illegalArgument = assertThrows(
+            IllegalArgumentException.class,
+            () -> CachePolicy.expireAfter(0, TimeUnit.SECONDS)
+        );
+        assertEquals("duration must be greater than zero", illegalArgument.getMessage());
+
+        illegalArgument = assertThrows(IllegalArgumentException.class, () -> new QueryCache(0));
+        assertEquals("maximumWeight must be greater than zero", illegalArgument.getMessage());
+    }
+}
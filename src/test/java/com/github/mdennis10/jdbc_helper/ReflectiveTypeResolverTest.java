@@ -3,11 +3,14 @@ package com.github.mdennis10.jdbc_helper;
 import com.github.mdennis10.jdbc_helper.model.Person;
 import org.junit.jupiter.api.Test;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class ReflectiveTypeResolverTest {
 
@@ -76,5 +79,56 @@ class ReflectiveTypeResolverTest {
         dataResult.put("age", 18);
         dataResult.put("dateOfBirth", LocalDateTime.now());
         dataResult.put("isActive", true);
+        Person first = ReflectiveTypeResolver.resolve(Person.class, dataResult);
+        Person second = ReflectiveTypeResolver.resolve(Person.class, dataResult);
+        assertNotSame(first, second);
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAge(), second.getAge());
+
+        // assert binding plan is reused for the same column layout
+        String[] columnNames = new String[]{"NAME", "AGE"};
+        assertSame(
+            ReflectiveTypeResolver.getBindingPlan(Person.class, columnNames),
+            ReflectiveTypeResolver.getBindingPlan(Person.class, new String[]{"NAME", "AGE"})
+        );
+        assertNotSame(
+            ReflectiveTypeResolver.getBindingPlan(Person.class, columnNames),
+            ReflectiveTypeResolver.getBindingPlan(Person.class, new String[]{"AGE", "NAME"})
+        );
+    }
+
+    @Test void getBindingPlan_bindResultSetRow() throws SQLException {
+        LocalDateTime dateOfBirth = LocalDateTime.now();
+        ResultSet mockResultSet = mock(ResultSet.class);
+        when(mockResultSet.getObject(1)).thenReturn("John Doe");
+        when(mockResultSet.getObject(2)).thenReturn(18);
+        when(mockResultSet.getObject(3)).thenReturn("ignored");
+        when(mockResultSet.getObject(4)).thenReturn(dateOfBirth);
+
+        ReflectiveTypeResolver.BindingPlan<Person> plan = ReflectiveTypeResolver.getBindingPlan(
+            Person.class,
+            new String[]{"NAME", "AGE", "UNKNOWN", "DATEOFBIRTH"}
+        );
+        Person person = plan.bind(mockResultSet);
+        assertNotNull(person);
+        assertEquals("John Doe", person.getName());
+        assertEquals(18, person.getAge());
+        assertEquals(dateOfBirth, person.getDateOfBirth());
+        assertFalse(person.isActive());
+        verify(mockResultSet, never()).getObject(3);
+    }
+
+    @Test void getBindingPlan_InvalidArguments() {
+        NullPointerException exception = assertThrows(
+            NullPointerException.class,
+            () -> ReflectiveTypeResolver.getBindingPlan(null, new String[]{})
+        );
+        assertEquals("null clazz supplied", exception.getMessage());
+
+        exception = assertThrows(
+            NullPointerException.class,
+            () -> ReflectiveTypeResolver.getBindingPlan(Person.class, null)
+        );
+        assertEquals("null columnNames supplied", exception.getMessage());
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.ReplicaRouter.Policy;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRouterTest {
+    private static final DbConfig config = new DbConfig(
+            "sa",
+            "pass@4d1",
+            "jdbc:h2:file:~/helper_test",
+            "org.h2.Driver"
+    );
+    private static final DbConfig replica1 = new DbConfig("sa", "", "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1", "org.h2.Driver");
+    private static final DbConfig replica2 = new DbConfig("sa", "", "jdbc:h2:mem:replica2;DB_CLOSE_DELAY=-1", "org.h2.Driver");
+
+    @BeforeAll public static void setup() throws SQLException, ClassNotFoundException {
+        SqlUtil.executeUpdate(config, "CREATE TABLE Person(name varchar(50))");
+    }
+
+    @AfterAll public static void tearDown() throws SQLException, ClassNotFoundException, IOException {
+        SqlUtil.executeUpdate(config, "DROP TABLE Person");
+        DatabaseHelper.close();
+    }
+
+    @Test void route_roundRobin() {
+        ConnectionManager connectionManager = mock(ConnectionManager.class);
+        ReplicaRouter router = new ReplicaRouter(Arrays.asList(replica1, replica2), Policy.ROUND_ROBIN);
+        assertSame(replica1, router.route(config, connectionManager));
+        assertSame(replica2, router.route(config, connectionManager));
+        assertSame(replica1, router.route(config, connectionManager));
+        verifyZeroInteractions(connectionManager);
+    }
+
+    @Test void route_leastOutstanding() {
+        ConnectionManager connectionManager = mock(ConnectionManager.class);
+        HikariDataSource busy = mockPool(8, 2);
+        HikariDataSource quiet = mockPool(1, 0);
+        when(connectionManager.getDataSource(replica1)).thenReturn(busy);
+        when(connectionManager.getDataSource(replica2)).thenReturn(quiet);
+
+        ReplicaRouter router = new ReplicaRouter(Arrays.asList(replica1, replica2), Policy.LEAST_OUTSTANDING);
+        for(int x = 0; x < 4; x++) {
+            assertSame(replica2, router.route(config, connectionManager));
+        }
+    }
+
+    @Test void route_readYourWrites() throws ExecutionException, InterruptedException {
+        ConnectionManager connectionManager = mock(ConnectionManager.class);
+        ReplicaRouter router = new ReplicaRouter(Collections.singletonList(replica1), Policy.ROUND_ROBIN, 1, TimeUnit.MINUTES);
+        assertSame(replica1, router.route(config, connectionManager));
+
+        router.markWrite();
+        assertSame(config, router.route(config, connectionManager));
+        // stickiness only applies to the thread that wrote
+        assertSame(replica1, CompletableFuture.supplyAsync(() -> router.route(config, connectionManager)).get());
+
+        ReplicaRouter expired = new ReplicaRouter(Collections.singletonList(replica1), Policy.ROUND_ROBIN, 1, TimeUnit.NANOSECONDS);
+        expired.markWrite();
+        assertSame(replica1, expired.route(config, connectionManager));
+    }
+
+    @Test void databaseHelper_splitsReadsAndWrites() throws SQLException, ClassNotFoundException {
+        try (HikariDataSource replicaDataSource = HikariConnectionManager.createDataSource(replica1)) {
+            try (Connection connection = replicaDataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE Person(name varchar(50))");
+                statement.executeUpdate("INSERT INTO Person(name) VALUES('ReplicaDoe')");
+            }
+            ConnectionManager connectionManager = mock(ConnectionManager.class);
+            when(connectionManager.getDataSource(config)).thenReturn(HikariConnectionManager.getInstance().getDataSource(config));
+            when(connectionManager.getDataSource(replica1)).thenReturn(replicaDataSource);
+
+            ReplicaRouter router = new ReplicaRouter(Collections.singletonList(replica1), Policy.ROUND_ROBIN, 1, TimeUnit.MINUTES);
+            DatabaseHelper databaseHelper = new DatabaseHelper(config, router);
+            databaseHelper.setConnectionManager(connectionManager);
+            String sql = "SELECT name FROM Person";
+
+            assertEquals(Collections.singletonList("ReplicaDoe"), databaseHelper.queryForList(sql, new Object[]{}, row -> row.get("NAME")));
+            databaseHelper.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"PrimaryDoe"});
+            // read your own write from the primary
+            List<Object> names = databaseHelper.queryForList(sql, new Object[]{}, row -> row.get("NAME"));
+            assertEquals(Collections.singletonList("PrimaryDoe"), names);
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void invalidArguments() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new ReplicaRouter(Collections.emptyList(), Policy.ROUND_ROBIN)
+        );
+        assertEquals("At least one replica must be supplied", exception.getMessage());
+
+        NullPointerException nullPointer = assertThrows(NullPointerException.class, () -> new DatabaseHelper(config, (ReplicaRouter) null));
+        assertEquals("Null router supplied", nullPointer.getMessage());
+    }
+
+    private static HikariDataSource mockPool(int active, int awaiting) {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(awaiting);
+        return dataSource;
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final QueryKey KEY = QueryKey.forList("SELECT * FROM Person WHERE name = ?", new Object[]{"JohnDoe"}, String.class);
+
+    @Test void execute_concurrentCallersShareOneQuery() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<String>> query = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new ArrayList<>(Arrays.asList("JohnDoe"));
+        };
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<List<String>> leader = executor.submit(() -> singleFlight.execute(KEY, query, ArrayList::new));
+            started.await();
+            List<Future<List<String>>> followers = new ArrayList<>();
+            for(int x = 1; x < threads; x++) {
+                // an equal but distinct key joins the running query
+                QueryKey key = QueryKey.forList("SELECT * FROM Person WHERE name = ?", new Object[]{"JohnDoe"}, String.class);
+                followers.add(executor.submit(() -> singleFlight.execute(key, query, ArrayList::new)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            List<String> result = leader.get();
+            // the leader's list is a copy too, so changing it can't race with followers copying
+            result.add("JaneDoe");
+            for(Future<List<String>> follower : followers) {
+                assertEquals(Arrays.asList("JohnDoe"), follower.get());
+                assertNotSame(result, follower.get());
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, singleFlight.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test void execute_failureSharedAndNotRemembered() throws InterruptedException, ExecutionException {
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+                started.countDown();
+                await(release);
+                throw new DatabaseHelperSQLException("connection refused");
+            }, x -> x));
+            started.await();
+            Future<Object> follower = executor.submit(() -> singleFlight.execute(KEY, () -> "unused", x -> x));
+            Thread.sleep(200);
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, leader::get);
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, follower::get);
+            assertTrue(leaderFailure.getCause() instanceof DatabaseHelperSQLException);
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        // the failed flight is gone, so the next call queries again
+        assertEquals("JohnDoe", singleFlight.execute(KEY, () -> "JohnDoe", x -> x));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.mdennis10.jdbc_helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementCacheTest {
+
+    @Test void prepareStatement_reusesStatementForSameSql() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement("SELECT 1")).thenReturn(mockPrepStmt);
+
+        StatementCache statementCache = new StatementCache(mockConnection, 2);
+        assertSame(mockPrepStmt, statementCache.prepareStatement("SELECT 1"));
+        assertSame(mockPrepStmt, statementCache.prepareStatement("SELECT 1"));
+        verify(mockConnection, times(1)).prepareStatement("SELECT 1");
+        // parameters of the previous call are cleared before reuse
+        verify(mockPrepStmt, times(1)).clearParameters();
+        assertEquals(1, statementCache.size());
+    }
+
+    @Test void prepareStatement_evictsLeastRecentlyUsed() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement first = mock(PreparedStatement.class);
+        PreparedStatement second = mock(PreparedStatement.class);
+        PreparedStatement third = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement("SELECT 1")).thenReturn(first);
+        when(mockConnection.prepareStatement("SELECT 2")).thenReturn(second);
+        when(mockConnection.prepareStatement("SELECT 3")).thenReturn(third);
+
+        StatementCache statementCache = new StatementCache(mockConnection, 2);
+        statementCache.prepareStatement("SELECT 1");
+        statementCache.prepareStatement("SELECT 2");
+        statementCache.prepareStatement("SELECT 1"); // SELECT 2 is now least recently used
+        statementCache.prepareStatement("SELECT 3");
+
+        assertEquals(2, statementCache.size());
+        verify(second, times(1)).close();
+        verify(first, never()).close();
+        verify(third, never()).close();
+    }
+
+    @Test void prepareStatement_generatedKeysCachedSeparately() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement plain = mock(PreparedStatement.class);
+        PreparedStatement returningKeys = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(sql)).thenReturn(plain);
+        when(mockConnection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)).thenReturn(returningKeys);
+
+        StatementCache statementCache = new StatementCache(mockConnection, 10);
+        assertSame(plain, statementCache.prepareStatement(sql));
+        assertSame(returningKeys, statementCache.prepareStatement(sql, true));
+        assertSame(plain, statementCache.prepareStatement(sql, false));
+        assertSame(returningKeys, statementCache.prepareStatement(sql, true));
+        verify(mockConnection, times(1)).prepareStatement(sql);
+        verify(mockConnection, times(1)).prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        assertEquals(2, statementCache.size());
+
+        // a failed statement is evicted in both variants
+        statementCache.evict(sql);
+        verify(plain, times(1)).close();
+        verify(returningKeys, times(1)).close();
+        assertEquals(0, statementCache.size());
+    }
+
+    @Test void evictAndClear_closeStatements() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement first = mock(PreparedStatement.class);
+        PreparedStatement second = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement("SELECT 1")).thenReturn(first);
+        when(mockConnection.prepareStatement("SELECT 2")).thenReturn(second);
+
+        StatementCache statementCache = new StatementCache(mockConnection, 10);
+        statementCache.prepareStatement("SELECT 1");
+        statementCache.prepareStatement("SELECT 2");
+
+        statementCache.evict("SELECT 1");
+        verify(first, times(1)).close();
+        assertEquals(1, statementCache.size());
+
+        statementCache.clear();
+        verify(second, times(1)).close();
+        assertEquals(0, statementCache.size());
+        verify(mockConnection, never()).close();
+    }
+
+    @Test void constructor_invalidArguments() {
+        NullPointerException nullPointerException = assertThrows(
+            NullPointerException.class,
+            () -> new StatementCache(null, 10)
+        );
+        assertEquals("Null connection provided", nullPointerException.getMessage());
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new StatementCache(mock(Connection.class), 0)
+        );
+        assertEquals("maxSize must be greater than zero", exception.getMessage());
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.mdennis10.jdbc_helper;
 
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
 import com.github.mdennis10.jdbc_helper.model.Person;
 import com.google.common.base.Strings;
 import org.junit.jupiter.api.AfterAll;
@@ -11,9 +12,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,6 +63,27 @@ public class TransactionImplTest {
         );
         transaction.rollback();
         verify(mockConnection, times(1)).rollback();
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test void begin_optionsAppliedAndRestoredOnCommit() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        when(mockConnection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        Transaction transaction = new TransactionImpl(
+            mockConnection,
+            mock(UpdateExecutor.class),
+            mock(QueryExecutor.class),
+            MetricsCollector.NO_OP,
+            TransactionOptions.builder().isolationLevel(Connection.TRANSACTION_SERIALIZABLE).readOnly(true).build()
+        );
+        verify(mockConnection, times(1)).setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        verify(mockConnection, times(1)).setReadOnly(true);
+        verify(mockConnection, times(1)).setAutoCommit(false);
+
+        transaction.commit();
+        verify(mockConnection, times(1)).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        verify(mockConnection, times(1)).setReadOnly(false);
+        verify(mockConnection, times(1)).close();
     }
 
     @Test void commit_connectionCommitMethodInvoked() throws SQLException {
@@ -70,6 +98,129 @@ public class TransactionImplTest {
         verify(mockConnection, times(1)).close();
     }
 
+    @Test void commit_connectionClosedWhenCommitFails() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        doThrow(new SQLException("connection reset")).when(mockConnection).commit();
+        Transaction transaction = new TransactionImpl(
+            mockConnection, mock(UpdateExecutor.class), mock(QueryExecutor.class)
+        );
+        assertThrows(DatabaseHelperSQLException.class, transaction::commit);
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test void commit_closeCallbackRunsOnceTransactionEnds() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        AtomicInteger closed = new AtomicInteger();
+        Transaction transaction = new TransactionImpl(
+            mockConnection,
+            mock(UpdateExecutor.class),
+            mock(QueryExecutor.class),
+            MetricsCollector.NO_OP,
+            TransactionOptions.DEFAULT,
+            closed::incrementAndGet
+        );
+        assertEquals(0, closed.get());
+        transaction.commit();
+        assertEquals(1, closed.get());
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test void executeUpdate_preparedStatementsReusedAndClosedOnCommit() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(sql)).thenReturn(mockPrepStmt);
+        when(mockPrepStmt.executeUpdate()).thenReturn(1);
+
+        Transaction transaction = new TransactionImpl(
+            mockConnection, new UpdateExecutor(), new QueryExecutor()
+        );
+        for(int x = 0; x < 3; x++) {
+            assertEquals(1, transaction.executeUpdate(sql, new Object[]{"John"}));
+        }
+        verify(mockConnection, times(1)).prepareStatement(sql);
+        verify(mockPrepStmt, never()).close();
+
+        transaction.commit();
+        verify(mockPrepStmt, times(1)).close();
+    }
+
+    @Test void rollback_preparedStatementsClosed() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockPrepStmt = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(sql)).thenReturn(mockPrepStmt);
+
+        Transaction transaction = new TransactionImpl(
+            mockConnection, new UpdateExecutor(), new QueryExecutor()
+        );
+        transaction.executeUpdate(sql, new Object[]{"John"});
+        transaction.rollback();
+        verify(mockPrepStmt, times(1)).close();
+    }
+
+    @Test void executeBatchUpdate_bindingFailureEvictsStatement() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement failed = mock(PreparedStatement.class);
+        PreparedStatement fresh = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(sql)).thenReturn(failed, fresh);
+        when(fresh.executeBatch()).thenReturn(new int[]{1});
+
+        Transaction transaction = new TransactionImpl(
+            mockConnection, new UpdateExecutor(), new QueryExecutor()
+        );
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"John"});
+        rows.add(null);
+        assertThrows(NullPointerException.class, () -> transaction.executeBatchUpdate(sql, rows));
+        // the statement holding the first row's batch is not reused
+        verify(failed, times(1)).close();
+
+        List<Object[]> next = new ArrayList<>();
+        next.add(new Object[]{"Jane"});
+        assertArrayEquals(new int[]{1}, transaction.executeBatchUpdate(sql, next));
+        verify(fresh, times(1)).addBatch();
+        verify(failed, never()).executeBatch();
+    }
+
+    @Test void executeBatchUpdate_chunkedFailureEvictsStatement() throws SQLException {
+        String sql = "INSERT INTO Person(name) VALUES(?)";
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement failed = mock(PreparedStatement.class);
+        PreparedStatement fresh = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(sql)).thenReturn(failed, fresh);
+        when(fresh.executeBatch()).thenReturn(new int[]{Statement.SUCCESS_NO_INFO});
+
+        Transaction transaction = new TransactionImpl(
+            mockConnection, new UpdateExecutor(), new QueryExecutor()
+        );
+        Iterator<Object[]> rows = new Iterator<Object[]>() {
+            private boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Object[] next() {
+                if(first) {
+                    first = false;
+                    return new Object[]{"John"};
+                }
+                throw new IllegalStateException("source failed");
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> transaction.executeBatchUpdate(sql, rows, 10));
+        verify(failed, times(1)).close();
+
+        List<Object[]> next = new ArrayList<>();
+        next.add(new Object[]{"Jane"});
+        assertEquals(1, transaction.executeBatchUpdate(sql, next.iterator(), 10));
+        verify(failed, never()).executeBatch();
+    }
+
     @Test void executeUpdate() throws SQLException, ClassNotFoundException {
         try {
             Connection connection = SqlUtil.getConnection(config);
@@ -144,6 +295,63 @@ public class TransactionImplTest {
         }
     }
 
+    @Test void queryRows () throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JOHN')") > 0;
+            Connection connection = SqlUtil.getConnection(config);
+            Transaction transaction = new TransactionImpl(
+                connection, new UpdateExecutor(), new QueryExecutor()
+            );
+            transaction.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"JANE"});
+            List<String> results = transaction.queryRows("SELECT name FROM Person", new Object[]{}, row -> row.getString("NAME"));
+            Optional<String> result = transaction.queryRow("SELECT name FROM Person WHERE name=?", new Object[]{"JANE"}, row -> row.getString(1));
+            transaction.commit();
+            assertEquals(2, results.size());
+            assertTrue(results.contains("JANE"));
+            assertTrue(result.isPresent());
+            assertEquals("JANE", result.get());
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void queryForStream () throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JOHN')") > 0;
+            Connection connection = SqlUtil.getConnection(config);
+            Transaction transaction = new TransactionImpl(
+                connection, new UpdateExecutor(), new QueryExecutor()
+            );
+            transaction.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"JANE"});
+            try (Stream<Person> persons = transaction.queryForStream(Person.class, "SELECT * FROM Person", new Object[]{}, 10)) {
+                assertEquals(2, persons.count());
+            }
+            assertFalse(connection.isClosed());
+            transaction.commit();
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
+    @Test void queryForIntArray () throws SQLException, ClassNotFoundException {
+        try {
+            assert SqlUtil.executeUpdate(config, "INSERT INTO Person(name) VALUES('JOHN')") > 0;
+            Connection connection = SqlUtil.getConnection(config);
+            Transaction transaction = new TransactionImpl(
+                connection, new UpdateExecutor(), new QueryExecutor()
+            );
+            transaction.executeUpdate("INSERT INTO Person(name) VALUES(?)", new Object[]{"JO"});
+            int[] lengths = transaction.queryForIntArray("SELECT LENGTH(name) FROM Person ORDER BY name", new Object[]{});
+            ColumnarResult columns = transaction.queryForColumns("SELECT name, LENGTH(name) FROM Person ORDER BY name", new Object[]{});
+            transaction.commit();
+            assertArrayEquals(new int[]{2, 4}, lengths);
+            assertEquals(2, columns.getRowCount());
+            assertArrayEquals(new long[]{2, 4}, columns.getLongColumn(2));
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
+
     @Test void executeBatchUpdate() throws SQLException, ClassNotFoundException {
         try {
             Connection connection = SqlUtil.getConnection(config);
@@ -162,4 +370,37 @@ public class TransactionImplTest {
             SqlUtil.executeUpdate(config, "DELETE FROM Person");
         }
     }
+
+    @Test void queryRows_inList() throws SQLException, ClassNotFoundException {
+        try {
+            Connection connection = SqlUtil.getConnection(config);
+            TransactionImpl transaction = new TransactionImpl(
+                    connection, new UpdateExecutor(), new QueryExecutor()
+            );
+            List<Object[]> parameters = new ArrayList<>();
+            for(int x = 0; x < 1500; x++) {
+                parameters.add(new Object[]{"Person" + x});
+            }
+            transaction.executeBatchUpdate("INSERT INTO Person(name) VALUES(?)", parameters);
+            assertEquals(2, transaction.executeUpdate("DELETE FROM Person WHERE name IN (?)", new Object[]{Arrays.asList("Person0", "Person1")}));
+            List<String> names = transaction.queryRows(
+                "SELECT name FROM Person WHERE name IN (?) ORDER BY name",
+                new Object[]{Arrays.asList("Person2", "Person3", "Person4")},
+                row -> row.getString(1)
+            );
+            assertEquals(Arrays.asList("Person2", "Person3", "Person4"), names);
+
+            // lists over the limit are only split once splitting is enabled
+            List<String> all = parameters.stream().map(row -> (String) row[0]).collect(Collectors.toList());
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> transaction.queryRows("SELECT name FROM Person WHERE name IN (?)", new Object[]{all}, row -> row.getString(1))
+            );
+            transaction.setInListSplitting(true);
+            assertEquals(1498, transaction.queryRows("SELECT name FROM Person WHERE name IN (?)", new Object[]{all}, row -> row.getString(1)).size());
+            transaction.commit();
+        } finally {
+            SqlUtil.executeUpdate(config, "DELETE FROM Person");
+        }
+    }
 }
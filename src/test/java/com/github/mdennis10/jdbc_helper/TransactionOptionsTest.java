@@ -0,0 +1,51 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionOptionsTest {
+
+    @Test void isRetryable() {
+        assertTrue(TransactionOptions.isRetryable(new DatabaseHelperSQLException(new SQLException("could not serialize", "40001"))));
+        assertTrue(TransactionOptions.isRetryable(new DatabaseHelperSQLException(new BatchUpdateException("deadlock detected", "40P01", new int[0]))));
+        assertFalse(TransactionOptions.isRetryable(new DatabaseHelperSQLException(new SQLException("duplicate key", "23505"))));
+        assertFalse(TransactionOptions.isRetryable(new IllegalStateException("boom")));
+    }
+
+    @Test void backoff() {
+        TransactionOptions options = TransactionOptions.builder().initialBackoff(10).maxBackoff(100).build();
+        for(int x = 0; x < 1000; x++) {
+            assertTrue(options.backoff(1) <= 10);
+            assertTrue(options.backoff(3) <= 40);
+            // the cap stops growing at maxBackoff
+            long backoff = options.backoff(64);
+            assertTrue(backoff >= 0 && backoff <= 100);
+        }
+        assertEquals(0, TransactionOptions.builder().initialBackoff(0).build().backoff(5));
+    }
+
+    @Test void build_invalidParameters() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> TransactionOptions.builder().isolationLevel(42).build()
+        );
+        assertEquals("isolationLevel must be one of the Connection.TRANSACTION_* levels", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> TransactionOptions.builder().maxAttempts(0).build()
+        );
+        assertEquals("maxAttempts must be greater than zero", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> TransactionOptions.builder().initialBackoff(50).maxBackoff(10).build()
+        );
+        assertEquals("maxBackoff must not be less than initialBackoff", exception.getMessage());
+    }
+}
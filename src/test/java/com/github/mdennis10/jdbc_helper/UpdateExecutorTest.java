@@ -0,0 +1,75 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UpdateExecutorTest {
+    private static final String SQL = "INSERT INTO Person (name) VALUES (?)";
+    private static final List<Object[]> ROWS = Collections.singletonList(new Object[]{"Mario"});
+
+    @Test void executeBatchUpdateInTransaction_CleanupFailsAfterCommit_CountsReturned() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockStatement = mock(PreparedStatement.class);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(SQL)).thenReturn(mockStatement);
+        when(mockStatement.executeBatch()).thenReturn(new int[]{1});
+        doThrow(new SQLException("close")).when(mockStatement).close();
+        doThrow(new SQLException("restore")).when(mockConnection).setAutoCommit(true);
+        doThrow(new SQLException("close")).when(mockConnection).close();
+
+        int[] counts = new UpdateExecutor().executeBatchUpdateInTransaction(true, mockConnection, SQL, ROWS);
+
+        assertArrayEquals(new int[]{1}, counts);
+        verify(mockConnection, times(1)).commit();
+        verify(mockConnection, never()).rollback();
+    }
+
+    @Test void executeBatchUpdateInTransaction_RollbackFails_BatchFailureThrown() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockStatement = mock(PreparedStatement.class);
+        SQLException failure = new SQLException("batch");
+        SQLException rollbackFailure = new SQLException("rollback");
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(SQL)).thenReturn(mockStatement);
+        when(mockStatement.executeBatch()).thenThrow(failure);
+        doThrow(rollbackFailure).when(mockConnection).rollback();
+
+        DatabaseHelperSQLException e = assertThrows(DatabaseHelperSQLException.class,
+                () -> new UpdateExecutor().executeBatchUpdateInTransaction(true, mockConnection, SQL, ROWS));
+
+        assertSame(failure, e.getCause());
+        assertSame(rollbackFailure, failure.getSuppressed()[0]);
+        verify(mockConnection, never()).commit();
+        verify(mockConnection, times(1)).setAutoCommit(true);
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test void executeBatchUpdate_CommitPerChunkCleanupFails_BatchFailureThrown() throws SQLException {
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement mockStatement = mock(PreparedStatement.class);
+        SQLException failure = new SQLException("batch");
+        SQLException rollbackFailure = new SQLException("rollback");
+        SQLException restoreFailure = new SQLException("restore");
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(SQL)).thenReturn(mockStatement);
+        when(mockStatement.executeBatch()).thenThrow(failure);
+        doThrow(rollbackFailure).when(mockConnection).rollback();
+        doThrow(restoreFailure).when(mockConnection).setAutoCommit(true);
+
+        DatabaseHelperSQLException e = assertThrows(DatabaseHelperSQLException.class,
+                () -> new UpdateExecutor().executeBatchUpdate(true, mockConnection, SQL, ROWS.iterator(), 10, true));
+
+        assertSame(failure, e.getCause());
+        assertArrayEquals(new Throwable[]{rollbackFailure, restoreFailure}, failure.getSuppressed());
+        verify(mockConnection, times(1)).close();
+    }
+}
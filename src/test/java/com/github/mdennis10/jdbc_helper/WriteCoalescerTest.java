@@ -0,0 +1,139 @@
+package com.github.mdennis10.jdbc_helper;
+
+import com.github.mdennis10.jdbc_helper.exception.DatabaseHelperSQLException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteCoalescerTest {
+    private static final String SQL = "INSERT INTO Person(name) VALUES(?)";
+
+    @Test void executeUpdate_concurrentUpdatesShareBatches() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(1, TimeUnit.SECONDS, 4);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger singles = new AtomicInteger();
+        ToIntFunction<Object[]> single = row -> {
+            singles.incrementAndGet();
+            return 1;
+        };
+        Function<List<Object[]>, int[]> batch = rows -> {
+            batchSizes.add(rows.size());
+            int[] counts = new int[rows.size()];
+            for(int x = 0; x < counts.length; x++) {
+                // report the row's own number so callers can check they got their count
+                counts[x] = (Integer) rows.get(x)[0];
+            }
+            return counts;
+        };
+
+        List<Integer> results = runConcurrently(8, x -> coalescer.executeUpdate(SQL, new Object[]{x}, single, batch));
+        for(int x = 0; x < 8; x++) {
+            assertEquals(x, (int) results.get(x));
+        }
+        // full batches run as soon as maxBatchSize rows joined, long before the window ends
+        assertEquals(8, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+        assertEquals(0, singles.get());
+    }
+
+    @Test void executeUpdate_failedBatchRetriedRowByRow() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(1, TimeUnit.SECONDS, 3);
+        AtomicInteger batches = new AtomicInteger();
+        ToIntFunction<Object[]> single = row -> {
+            if("JaneDoe".equals(row[0])) {
+                throw new DatabaseHelperSQLException("duplicate key");
+            }
+            return 1;
+        };
+        Function<List<Object[]>, int[]> batch = rows -> {
+            batches.incrementAndGet();
+            throw new DatabaseHelperSQLException("duplicate key");
+        };
+
+        String[] names = {"JohnDoe", "JaneDoe", "MaryDoe"};
+        List<Object> results = runConcurrently(3, x -> {
+            try {
+                return coalescer.executeUpdate(SQL, new Object[]{names[x]}, single, batch);
+            } catch (DatabaseHelperSQLException e) {
+                return e.getMessage();
+            }
+        });
+        assertEquals(1, batches.get());
+        assertEquals(1, results.get(0));
+        assertEquals("duplicate key", results.get(1));
+        assertEquals(1, results.get(2));
+    }
+
+    @Test void executeUpdate_rowsWithoutCountReportOneRow() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(1, TimeUnit.SECONDS, 4);
+        Function<List<Object[]>, int[]> batch = rows -> {
+            int[] counts = new int[rows.size()];
+            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+            return counts;
+        };
+        List<Integer> results = runConcurrently(4, x -> coalescer.executeUpdate(SQL, new Object[]{x}, row -> 1, batch));
+        assertEquals(Collections.nCopies(4, 1), results);
+    }
+
+    @Test void executeUpdate_loneUpdateRunsAfterWindow() {
+        WriteCoalescer coalescer = new WriteCoalescer(10, TimeUnit.MILLISECONDS, 16);
+        Function<List<Object[]>, int[]> batch = rows -> {
+            throw new AssertionError("a single row is not batched");
+        };
+        assertEquals(1, coalescer.executeUpdate(SQL, new Object[]{"JohnDoe"}, row -> 1, batch));
+        // updates without arguments are never batched
+        assertEquals(2, coalescer.executeUpdate("DELETE FROM Person", null, row -> 2, batch));
+    }
+
+    @Test void invalidArguments() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new WriteCoalescer(5, TimeUnit.MILLISECONDS, 1)
+        );
+        assertEquals("maxBatchSize must be greater than one", exception.getMessage());
+
+        exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new WriteCoalescer(-1, TimeUnit.MILLISECONDS, 16)
+        );
+        assertEquals("window must not be negative", exception.getMessage());
+    }
+
+    private static <T> List<T> runConcurrently(int threads, Function<Integer, T> task) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for(int x = 0; x < threads; x++) {
+                int row = x;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.apply(row);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for(Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}